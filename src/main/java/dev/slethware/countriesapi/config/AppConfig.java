@@ -1,14 +1,37 @@
 package dev.slethware.countriesapi.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
+@EnableAsync
+@EnableScheduling
 public class AppConfig {
 
+    // The JDK client keeps connections alive and negotiates HTTP/2 where the upstream offers it;
+    // the timeouts stop a hung upstream from stalling a refresh indefinitely
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${api.http.connect-timeout:PT5S}") Duration connectTimeout,
+                                     @Value("${api.http.read-timeout:PT30S}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new GzipClientHttpRequestInterceptor());
+        return restTemplate;
     }
 }
\ No newline at end of file
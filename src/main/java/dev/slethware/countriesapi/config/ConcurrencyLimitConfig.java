@@ -0,0 +1,30 @@
+package dev.slethware.countriesapi.config;
+
+import dev.slethware.countriesapi.service.limit.ConcurrencyLimiters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    // The reactive profile applies the same limiters as a router filter
+    @Configuration
+    @Profile("!reactive")
+    @RequiredArgsConstructor
+    static class MvcConcurrencyLimitConfig implements WebMvcConfigurer {
+
+        private final ConcurrencyLimiters limiters;
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            if (limiters.isEnabled()) {
+                registry.addInterceptor(new ConcurrencyLimitInterceptor(limiters));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package dev.slethware.countriesapi.config;
+
+import dev.slethware.countriesapi.service.limit.AdaptiveConcurrencyLimiter;
+import dev.slethware.countriesapi.service.limit.ConcurrencyLimiters;
+import dev.slethware.countriesapi.service.limit.EndpointClass;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits controller requests through their endpoint class's limiter. Rejections are thrown, so
+ * {@code GlobalExceptionHandler} renders the 503; the permit is released once the response is written.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final ConcurrencyLimiters limiters;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        EndpointClass endpointClass = EndpointClass.of(HttpMethod.valueOf(request.getMethod()), path);
+        if (endpointClass != null) {
+            request.setAttribute(PERMIT_ATTRIBUTE, limiters.acquire(endpointClass));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+            permit.release();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package dev.slethware.countriesapi.config;
+
+import dev.slethware.countriesapi.service.limit.EndpointClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limits per endpoint class. A request over its class's limit waits up to
+ * {@code queue-timeout} in a queue of {@code queue-size}, then gets a 503 with {@code Retry-After}.
+ */
+@ConfigurationProperties("countries.concurrency")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Limit reads,
+        @DefaultValue Limit writes,
+        @DefaultValue Limit refresh,
+        @DefaultValue Limit image
+) {
+
+    public Limit forClass(EndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case READS -> reads;
+            case WRITES -> writes;
+            case REFRESH -> refresh;
+            case IMAGE -> image;
+        };
+    }
+
+    public record Limit(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("2") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("50") int queueSize,
+            @DefaultValue("PT0.5S") Duration queueTimeout,
+            // Requests slower than this shrink the limit
+            @DefaultValue("PT0.25S") Duration latencyTarget,
+            @DefaultValue("PT1S") Duration retryAfter
+    ) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package dev.slethware.countriesapi.config;
+
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import dev.slethware.countriesapi.models.response.CountryView;
+import dev.slethware.countriesapi.models.response.StatusResponse;
+import dev.slethware.countriesapi.service.cache.CountryProtobuf;
+import dev.slethware.countriesapi.service.cache.ResponseFormat;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes countries, country lists and the status as {@code application/x-protobuf}, using the
+ * messages in {@code countries.proto}. Other bodies (errors, aggregates, refresh jobs) are not
+ * writable, so those requests fall back to another Accept type or get a 406.
+ */
+public class CountryProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public CountryProtobufHttpMessageConverter() {
+        super(ResponseFormat.PROTOBUF.getMediaType());
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CountryResponse.class.isAssignableFrom(clazz)
+                || CountryView.class.isAssignableFrom(clazz)
+                || StatusResponse.class.isAssignableFrom(clazz)
+                || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!super.canWrite(type, clazz, mediaType)) {
+            return false;
+        }
+        // Declared lists must hold countries; undeclared (Object, List<?>) ones are checked when written
+        if (type != null && List.class.isAssignableFrom(clazz)) {
+            Class<?> element = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+            return element == null || element == Object.class
+                    || element == CountryResponse.class || element == CountryView.class;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        byte[] bytes = switch (body) {
+            case CountryResponse country -> CountryProtobuf.encodeCountry(country, null);
+            case CountryView view -> CountryProtobuf.encodeCountry(view.country(), view.fields());
+            case StatusResponse status -> CountryProtobuf.encodeStatus(status);
+            case List<?> list -> encodeList(list);
+            default -> throw new HttpMessageNotWritableException("Cannot write " + body.getClass() + " as protobuf");
+        };
+        outputMessage.getBody().write(bytes);
+    }
+
+    // A field selection applies to the whole list, so every view carries the same set
+    private static byte[] encodeList(List<?> list) {
+        List<CountryResponse> countries = new ArrayList<>(list.size());
+        Set<CountryField> fields = null;
+        for (Object element : list) {
+            switch (element) {
+                case CountryResponse country -> countries.add(country);
+                case CountryView view -> {
+                    countries.add(view.country());
+                    fields = view.fields();
+                }
+                default -> throw new HttpMessageNotWritableException(
+                        "Cannot write a list of " + element.getClass() + " as protobuf");
+            }
+        }
+        return CountryProtobuf.encodeCountries(countries, fields);
+    }
+}
\ No newline at end of file
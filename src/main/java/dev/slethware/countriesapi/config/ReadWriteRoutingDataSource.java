@@ -0,0 +1,62 @@
+package dev.slethware.countriesapi.config;
+
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to the replicas (round-robin) and everything
+ * else to the primary. After a read-write transaction commits, reads on this node stay on the
+ * primary for a short window so they see that write even if the replicas lag behind.
+ *
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}, so the connection is only fetched
+ * once the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final long readYourWritesNanos;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile long primaryReadsUntil = System.nanoTime();
+
+    public ReadWriteRoutingDataSource(List<String> replicaKeys, Duration readYourWritesWindow) {
+        this.replicaKeys = List.copyOf(replicaKeys);
+        this.readYourWritesNanos = readYourWritesWindow.toNanos();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new ReadYourWrites());
+            }
+            return PRIMARY;
+        }
+
+        if (replicaKeys.isEmpty() || System.nanoTime() - primaryReadsUntil < 0) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // Ordered first, so listeners that read right after the commit (the snapshot rebuild) already see the primary
+    private final class ReadYourWrites implements TransactionSynchronization {
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            primaryReadsUntil = System.nanoTime() + readYourWritesNanos;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package dev.slethware.countriesapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas behind the primary {@code spring.datasource}. Routing is only enabled when at
+ * least one replica is configured.
+ */
+@ConfigurationProperties("countries.datasource")
+public record ReplicaDataSourceProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("PT5S") Duration readYourWritesWindow
+) {
+
+    public record Replica(String url, String username, String password) {
+    }
+}
\ No newline at end of file
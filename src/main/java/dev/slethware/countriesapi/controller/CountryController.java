@@ -1,53 +1,186 @@
 package dev.slethware.countriesapi.controller;
 
 import dev.slethware.countriesapi.exception.ResourceNotFoundException;
+import dev.slethware.countriesapi.models.dto.CountryLookupRequest;
+import dev.slethware.countriesapi.models.response.CountryAggregateResponse;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryLookupResponse;
 import dev.slethware.countriesapi.models.response.CountryResponse;
+import dev.slethware.countriesapi.models.response.CountryView;
 import dev.slethware.countriesapi.models.response.ErrorResponse;
+import dev.slethware.countriesapi.models.response.RefreshJobResponse;
 import dev.slethware.countriesapi.models.response.StatusResponse;
+import dev.slethware.countriesapi.service.cache.CachedResponse;
+import dev.slethware.countriesapi.service.cache.CountryResponseCache;
+import dev.slethware.countriesapi.service.cache.ResponseFormat;
+import dev.slethware.countriesapi.service.country.CountryPage;
 import dev.slethware.countriesapi.service.country.CountryService;
 import dev.slethware.countriesapi.service.image.ImageService;
+import dev.slethware.countriesapi.service.image.ImageVariant;
+import dev.slethware.countriesapi.service.image.SummaryImageVariantCache;
+import dev.slethware.countriesapi.service.refresh.RefreshJobService;
+import dev.slethware.countriesapi.service.refresh.RefreshType;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+// The reactive profile serves these endpoints through ReactiveCountryRoutes instead
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Tag(name = "Countries", description = "API for managing country data with exchange rates")
 public class CountryController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final CountryService countryService;
     private final ImageService imageService;
+    private final SummaryImageVariantCache summaryImageVariantCache;
+    private final CountryResponseCache countryResponseCache;
+    private final RefreshJobService refreshJobService;
 
     @PostMapping("/countries/refresh")
-    @Operation(summary = "Refresh country data from external APIs")
-    public ResponseEntity<Map<String, String>> refreshCountries() {
-        String message = countryService.refreshCountries();
-        return ResponseEntity.ok(Map.of("message", message));
+    @Operation(summary = "Queue a refresh of country data from external APIs")
+    public ResponseEntity<RefreshJobResponse> refreshCountries() {
+        return accepted(refreshJobService.submit(RefreshType.FULL));
+    }
+
+    @PostMapping("/countries/refresh/rates")
+    @Operation(summary = "Queue a refresh of exchange rates, recomputing GDP for countries whose rate changed")
+    public ResponseEntity<RefreshJobResponse> refreshExchangeRates() {
+        return accepted(refreshJobService.submit(RefreshType.RATES));
+    }
+
+    @GetMapping("/countries/refresh/{id}")
+    @Operation(summary = "Get the status of a refresh job")
+    public ResponseEntity<?> getRefreshJob(@PathVariable String id) {
+        Optional<RefreshJobResponse> job = refreshJobService.findJob(id);
+        if (job.isEmpty()) {
+            ErrorResponse errorResponse = ErrorResponse.builder()
+                    .error("Refresh job not found")
+                    .build();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+        return ResponseEntity.ok(job.get());
     }
 
     @GetMapping("/countries")
     @Operation(summary = "Get all countries with optional filters")
-    public ResponseEntity<List<CountryResponse>> getAllCountries(
+    @ApiResponse(responseCode = "200", content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = CountryResponse.class))))
+    public ResponseEntity<?> getAllCountries(
             @RequestParam(required = false) String region,
             @RequestParam(required = false) String currency,
-            @RequestParam(required = false) String sort) {
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String base,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
-        List<CountryResponse> countries = countryService.getAllCountries(region, currency, sort);
-        return ResponseEntity.ok(countries);
+        Set<CountryField> selectedFields = CountryField.parse(fields);
+
+        // Paged requests return one keyset page; the next cursor travels in a header
+        if (limit != null || cursor != null) {
+            CountryPage page = countryService.getCountriesPage(region, currency, sort, cursor,
+                    limit != null ? limit : DEFAULT_PAGE_SIZE, base, selectedFields);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(CountryView.of(page.countries(), selectedFields));
+        }
+
+        // Serve pre-serialized bytes; only without a snapshot do we go through the service
+        Optional<CachedResponse> cached = countryResponseCache.getCountries(region, currency, sort, base, selectedFields,
+                ResponseFormat.negotiate(accept));
+        if (cached.isEmpty()) {
+            List<CountryResponse> countries = countryService.getAllCountries(region, currency, sort, base, selectedFields);
+            return ResponseEntity.ok(CountryView.of(countries, selectedFields));
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(cached.get().contentType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        if (cached.get().gzip() != null && CountryResponseCache.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.get().gzip());
+        }
+        return response.body(cached.get().body());
+    }
+
+    @GetMapping("/countries/top")
+    @Operation(summary = "Get the top countries by GDP or population")
+    public ResponseEntity<List<?>> getTopCountries(
+            @RequestParam(defaultValue = "10") int n,
+            @RequestParam(defaultValue = "gdp") String by,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String fields) {
+
+        Set<CountryField> selectedFields = CountryField.parse(fields);
+        List<CountryResponse> countries = countryService.getTopCountries(n, by, region, selectedFields);
+        return ResponseEntity.ok(CountryView.of(countries, selectedFields));
+    }
+
+    @GetMapping("/countries/search")
+    @Operation(summary = "Search countries by name or capital prefix, tolerating typos")
+    public ResponseEntity<List<?>> searchCountries(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String fields) {
+
+        Set<CountryField> selectedFields = CountryField.parse(fields);
+        List<CountryResponse> countries = countryService.searchCountries(q, limit);
+        return ResponseEntity.ok(CountryView.of(countries, selectedFields));
+    }
+
+    @PostMapping("/countries/lookup")
+    @Operation(summary = "Look up several countries by name in one request")
+    public ResponseEntity<CountryLookupResponse> lookupCountries(
+            @RequestBody CountryLookupRequest request,
+            @RequestParam(required = false) String base) {
+
+        CountryLookupResponse result = countryService.lookupCountries(request.getNames(), base);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/countries/aggregates")
+    @Operation(summary = "Get country count, population and GDP totals per region or currency")
+    public ResponseEntity<List<CountryAggregateResponse>> getAggregates(
+            @RequestParam(defaultValue = "region") String by) {
+
+        List<CountryAggregateResponse> aggregates = countryService.getAggregates(by);
+        return ResponseEntity.ok(aggregates);
     }
 
     @GetMapping("/countries/{name}")
     @Operation(summary = "Get country by name")
-    public ResponseEntity<CountryResponse> getCountryByName(@PathVariable String name) {
-        CountryResponse country = countryService.getCountryByName(name);
-        return ResponseEntity.ok(country);
+    public ResponseEntity<Object> getCountryByName(
+            @PathVariable String name,
+            @RequestParam(required = false) String base,
+            @RequestParam(required = false) String fields) {
+
+        Set<CountryField> selectedFields = CountryField.parse(fields);
+        CountryResponse country = countryService.getCountryByName(name, base, selectedFields);
+        return ResponseEntity.ok(CountryView.of(country, selectedFields));
     }
 
     @DeleteMapping("/countries/{name}")
@@ -58,13 +191,22 @@ public class CountryController {
     }
 
     @GetMapping("/countries/image")
-    @Operation(summary = "Get the summary image")
-    public ResponseEntity<?> getSummaryImage() {
+    @Operation(summary = "Get the summary image, optionally resized, re-encoded or with more top countries")
+    public ResponseEntity<?> getSummaryImage(
+            @RequestParam(required = false) Integer width,
+            @RequestParam(required = false) Integer height,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Integer top) {
+        ImageVariant variant = ImageVariant.of(width, height, format, top);
         try {
-            byte[] imageBytes = imageService.getSummaryImage();
+            if (variant == null) {
+                return ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_PNG)
+                        .body(imageService.getSummaryImage());
+            }
             return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_PNG)
-                    .body(imageBytes);
+                    .contentType(variant.format().getMediaType())
+                    .body(summaryImageVariantCache.getImage(variant));
         } catch (ResourceNotFoundException e) {
             ErrorResponse errorResponse = ErrorResponse.builder()
                     .error("Summary image not found")
@@ -81,4 +223,10 @@ public class CountryController {
         StatusResponse status = countryService.getStatus();
         return ResponseEntity.ok(status);
     }
+
+    private static ResponseEntity<RefreshJobResponse> accepted(RefreshJobResponse job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/countries/refresh/" + job.id()))
+                .body(job);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,230 @@
+package dev.slethware.countriesapi.controller.reactive;
+
+import dev.slethware.countriesapi.exception.BadRequestException;
+import dev.slethware.countriesapi.models.dto.CountryLookupRequest;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryView;
+import dev.slethware.countriesapi.models.response.ErrorResponse;
+import dev.slethware.countriesapi.models.response.RefreshJobResponse;
+import dev.slethware.countriesapi.service.cache.CachedResponse;
+import dev.slethware.countriesapi.service.cache.CountryCache;
+import dev.slethware.countriesapi.service.cache.CountryResponseCache;
+import dev.slethware.countriesapi.service.cache.CountrySnapshot;
+import dev.slethware.countriesapi.service.cache.ResponseFormat;
+import dev.slethware.countriesapi.service.country.CountryService;
+import dev.slethware.countriesapi.service.image.ImageService;
+import dev.slethware.countriesapi.service.image.ImageVariant;
+import dev.slethware.countriesapi.service.image.SummaryImageVariantCache;
+import dev.slethware.countriesapi.service.refresh.RefreshJobService;
+import dev.slethware.countriesapi.service.refresh.RefreshType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * WebFlux handlers mirroring {@code CountryController}. Reads are answered from the in-memory
+ * snapshot on the event loop; anything that may touch the database runs on the bounded elastic
+ * scheduler so it never blocks an event-loop thread.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveCountryHandler {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final CountryService countryService;
+    private final CountryCache countryCache;
+    private final CountryResponseCache countryResponseCache;
+    private final ImageService imageService;
+    private final SummaryImageVariantCache summaryImageVariantCache;
+    private final RefreshJobService refreshJobService;
+
+    public Mono<ServerResponse> refreshCountries(ServerRequest request) {
+        return accepted(refreshJobService.submit(RefreshType.FULL));
+    }
+
+    public Mono<ServerResponse> refreshExchangeRates(ServerRequest request) {
+        return accepted(refreshJobService.submit(RefreshType.RATES));
+    }
+
+    public Mono<ServerResponse> getRefreshJob(ServerRequest request) {
+        return refreshJobService.findJob(request.pathVariable("id"))
+                .map(job -> ServerResponse.ok().bodyValue(job))
+                .orElseGet(() -> ServerResponse.status(HttpStatus.NOT_FOUND)
+                        .bodyValue(ErrorResponse.builder().error("Refresh job not found").build()));
+    }
+
+    // Deferred so parameter errors surface as error signals, which the route error mappings handle
+    public Mono<ServerResponse> getAllCountries(ServerRequest request) {
+        return Mono.defer(() -> allCountries(request));
+    }
+
+    public Mono<ServerResponse> getTopCountries(ServerRequest request) {
+        return Mono.defer(() -> topCountries(request));
+    }
+
+    public Mono<ServerResponse> getCountryByName(ServerRequest request) {
+        return Mono.defer(() -> countryByName(request));
+    }
+
+    public Mono<ServerResponse> searchCountries(ServerRequest request) {
+        return Mono.defer(() -> search(request));
+    }
+
+    private Mono<ServerResponse> allCountries(ServerRequest request) {
+        String region = request.queryParam("region").orElse(null);
+        String currency = request.queryParam("currency").orElse(null);
+        String sort = request.queryParam("sort").orElse(null);
+        String base = request.queryParam("base").orElse(null);
+        Set<CountryField> fields = CountryField.parse(request.queryParam("fields").orElse(null));
+        Optional<String> limit = request.queryParam("limit");
+        Optional<String> cursor = request.queryParam("cursor");
+
+        // Paged requests return one keyset page; the next cursor travels in a header
+        if (limit.isPresent() || cursor.isPresent()) {
+            int pageSize = limit.map(ReactiveCountryHandler::parseInt).orElse(DEFAULT_PAGE_SIZE);
+            return read(snapshot -> countryService.getCountriesPage(snapshot, region, currency, sort,
+                            cursor.orElse(null), pageSize, base, fields))
+                    .flatMap(page -> {
+                        ServerResponse.BodyBuilder response = ServerResponse.ok();
+                        if (page.nextCursor() != null) {
+                            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+                        }
+                        return response.bodyValue(CountryView.of(page.countries(), fields));
+                    });
+        }
+
+        Optional<CachedResponse> cached = countryResponseCache.getCountries(region, currency, sort, base, fields,
+                ResponseFormat.negotiate(request.headers().firstHeader(HttpHeaders.ACCEPT)));
+        if (cached.isEmpty()) {
+            return read(snapshot -> countryService.getAllCountries(snapshot, region, currency, sort, base, fields))
+                    .flatMap(countries -> ServerResponse.ok().bodyValue(CountryView.of(countries, fields)));
+        }
+
+        ServerResponse.BodyBuilder response = ServerResponse.ok()
+                .contentType(cached.get().contentType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        if (cached.get().gzip() != null
+                && CountryResponseCache.acceptsGzip(request.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").bodyValue(cached.get().gzip());
+        }
+        return response.bodyValue(cached.get().body());
+    }
+
+    private Mono<ServerResponse> topCountries(ServerRequest request) {
+        int n = request.queryParam("n").map(ReactiveCountryHandler::parseInt).orElse(10);
+        String by = request.queryParam("by").orElse("gdp");
+        String region = request.queryParam("region").orElse(null);
+        Set<CountryField> fields = CountryField.parse(request.queryParam("fields").orElse(null));
+
+        return read(snapshot -> countryService.getTopCountries(snapshot, n, by, region, fields))
+                .flatMap(countries -> ServerResponse.ok().bodyValue(CountryView.of(countries, fields)));
+    }
+
+    private Mono<ServerResponse> search(ServerRequest request) {
+        String q = request.queryParam("q").orElse(null);
+        int limit = request.queryParam("limit").map(ReactiveCountryHandler::parseInt).orElse(10);
+        Set<CountryField> fields = CountryField.parse(request.queryParam("fields").orElse(null));
+
+        // Served from the snapshot alone, or rejected without one, so it never leaves the event loop
+        return Mono.fromCallable(() -> countryService.searchCountries(q, limit))
+                .flatMap(countries -> ServerResponse.ok().bodyValue(CountryView.of(countries, fields)));
+    }
+
+    private Mono<ServerResponse> countryByName(ServerRequest request) {
+        String name = request.pathVariable("name");
+        String base = request.queryParam("base").orElse(null);
+        Set<CountryField> fields = CountryField.parse(request.queryParam("fields").orElse(null));
+        return read(snapshot -> countryService.getCountryByName(snapshot, name, base, fields))
+                .flatMap(country -> ServerResponse.ok().bodyValue(CountryView.of(country, fields)));
+    }
+
+    public Mono<ServerResponse> getAggregates(ServerRequest request) {
+        String by = request.queryParam("by").orElse("region");
+        return read(snapshot -> countryService.getAggregates(snapshot, by))
+                .flatMap(aggregates -> ServerResponse.ok().bodyValue(aggregates));
+    }
+
+    public Mono<ServerResponse> lookupCountries(ServerRequest request) {
+        String base = request.queryParam("base").orElse(null);
+        return request.bodyToMono(CountryLookupRequest.class)
+                .defaultIfEmpty(new CountryLookupRequest())
+                .flatMap(body -> read(snapshot -> countryService.lookupCountries(snapshot, body.getNames(), base)))
+                .flatMap(result -> ServerResponse.ok().bodyValue(result));
+    }
+
+    public Mono<ServerResponse> deleteCountry(ServerRequest request) {
+        String name = request.pathVariable("name");
+        return blocking(() -> {
+            countryService.deleteCountry(name);
+            return name;
+        }).then(ServerResponse.noContent().build());
+    }
+
+    public Mono<ServerResponse> getSummaryImage(ServerRequest request) {
+        return Mono.defer(() -> summaryImage(request));
+    }
+
+    private Mono<ServerResponse> summaryImage(ServerRequest request) {
+        ImageVariant variant = ImageVariant.of(
+                request.queryParam("width").map(ReactiveCountryHandler::parseInt).orElse(null),
+                request.queryParam("height").map(ReactiveCountryHandler::parseInt).orElse(null),
+                request.queryParam("format").orElse(null),
+                request.queryParam("top").map(ReactiveCountryHandler::parseInt).orElse(null));
+        if (variant == null) {
+            return Mono.fromCallable(imageService::getSummaryImage)
+                    .flatMap(image -> ServerResponse.ok().contentType(MediaType.IMAGE_PNG).bodyValue(image));
+        }
+        // Uncached variants are rendered, or waited on, off the event loop
+        return blocking(() -> summaryImageVariantCache.getImage(variant))
+                .flatMap(image -> ServerResponse.ok().contentType(variant.format().getMediaType()).bodyValue(image));
+    }
+
+    public Mono<ServerResponse> getStatus(ServerRequest request) {
+        return blocking(countryService::getStatus)
+                .flatMap(status -> ServerResponse.ok().bodyValue(status));
+    }
+
+    private Mono<ServerResponse> accepted(RefreshJobResponse job) {
+        return ServerResponse.accepted()
+                .location(URI.create("/countries/refresh/" + job.id()))
+                .bodyValue(job);
+    }
+
+    // The snapshot is resolved once and handed to the service, so a read that stays on the event loop can
+    // never find it gone and fall back to the database there; without one the read goes to the database
+    private <T> Mono<T> read(Function<CountrySnapshot, T> call) {
+        Optional<CountrySnapshot> snapshot = countryCache.getSnapshot();
+        return snapshot.isPresent()
+                ? Mono.fromCallable(() -> call.apply(snapshot.get()))
+                : blocking(() -> call.apply(null));
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Not a number: " + value);
+        }
+    }
+}
\ No newline at end of file
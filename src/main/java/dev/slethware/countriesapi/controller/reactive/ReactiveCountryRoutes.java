@@ -0,0 +1,113 @@
+package dev.slethware.countriesapi.controller.reactive;
+
+import dev.slethware.countriesapi.exception.BadRequestException;
+import dev.slethware.countriesapi.exception.ResourceNotFoundException;
+import dev.slethware.countriesapi.exception.ServiceOverloadedException;
+import dev.slethware.countriesapi.exception.ServiceUnavailableException;
+import dev.slethware.countriesapi.models.response.ErrorResponse;
+import dev.slethware.countriesapi.service.limit.AdaptiveConcurrencyLimiter;
+import dev.slethware.countriesapi.service.limit.ConcurrencyLimiters;
+import dev.slethware.countriesapi.service.limit.EndpointClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Routes for the {@code reactive} profile, which serves the API through WebFlux on Netty
+ * instead of Spring MVC on Tomcat. Errors map to the same bodies as {@code GlobalExceptionHandler}.
+ */
+@Slf4j
+@Configuration
+@Profile("reactive")
+public class ReactiveCountryRoutes {
+
+    // Tomcat is on the classpath for the servlet stack and would otherwise be picked as the reactive server too
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> countryRoutes(ReactiveCountryHandler handler, ConcurrencyLimiters limiters) {
+        return RouterFunctions.route()
+                .POST("/countries/refresh", handler::refreshCountries)
+                .POST("/countries/refresh/rates", handler::refreshExchangeRates)
+                .POST("/countries/lookup", handler::lookupCountries)
+                .GET("/countries/refresh/{id}", handler::getRefreshJob)
+                .GET("/countries", handler::getAllCountries)
+                .GET("/countries/top", handler::getTopCountries)
+                .GET("/countries/aggregates", handler::getAggregates)
+                .GET("/countries/search", handler::searchCountries)
+                .GET("/countries/image", handler::getSummaryImage)
+                .GET("/countries/{name}", handler::getCountryByName)
+                .DELETE("/countries/{name}", handler::deleteCountry)
+                .GET("/status", handler::getStatus)
+                .filter((request, next) -> limit(limiters, request, next))
+                .onError(BadRequestException.class, (e, request) ->
+                        error(e, HttpStatus.BAD_REQUEST, "Validation failed", null))
+                .onError(ResourceNotFoundException.class, (e, request) ->
+                        error(e, HttpStatus.NOT_FOUND, notFoundMessage(request.path()), null))
+                .onError(ServiceUnavailableException.class, (e, request) ->
+                        error(e, HttpStatus.SERVICE_UNAVAILABLE, "External data source unavailable",
+                                ((ServiceUnavailableException) e).getDetails()))
+                .onError(Exception.class, (e, request) ->
+                        error(e, HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error", null))
+                .build();
+    }
+
+    // The event loop must not block, so requests over the limit are rejected instead of queued.
+    // Filters run outside the onError mappings, so the rejection is rendered here
+    private static Mono<ServerResponse> limit(ConcurrencyLimiters limiters, ServerRequest request,
+                                              HandlerFunction<ServerResponse> next) {
+        EndpointClass endpointClass = EndpointClass.of(request.method(), request.path());
+        if (endpointClass == null || !limiters.isEnabled()) {
+            return next.handle(request);
+        }
+        return Mono.defer(() -> {
+            AdaptiveConcurrencyLimiter.Permit permit;
+            try {
+                permit = limiters.tryAcquire(endpointClass);
+            } catch (ServiceOverloadedException e) {
+                return overloaded(e);
+            }
+            // Deferred so a handler that throws instead of returning a Mono still releases the permit
+            return Mono.defer(() -> next.handle(request)).doFinally(signal -> permit.release());
+        });
+    }
+
+    private static Mono<ServerResponse> overloaded(ServiceOverloadedException e) {
+        log.warn(e.getMessage());
+        ErrorResponse response = ErrorResponse.builder()
+                .error("Service overloaded")
+                .details(Map.of("details", e.getMessage()))
+                .build();
+        return ServerResponse.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .bodyValue(response);
+    }
+
+    private static String notFoundMessage(String path) {
+        return "/countries/image".equals(path) ? "Summary image not found" : "Country not found";
+    }
+
+    private static Mono<ServerResponse> error(Throwable e, HttpStatus status, String error, String details) {
+        log.error(e.getMessage(), e);
+        ErrorResponse response = ErrorResponse.builder()
+                .error(error)
+                .details(details != null ? Map.of("details", details) : null)
+                .build();
+        return ServerResponse.status(status).bodyValue(response);
+    }
+}
\ No newline at end of file
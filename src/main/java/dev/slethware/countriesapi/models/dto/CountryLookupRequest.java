@@ -0,0 +1,14 @@
+package dev.slethware.countriesapi.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CountryLookupRequest {
+    private List<String> names;
+}
\ No newline at end of file
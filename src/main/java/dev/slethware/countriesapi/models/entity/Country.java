@@ -9,15 +9,31 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Data
 @Entity
-@Table(name = "countries")
+@Table(name = "countries", indexes = {
+        @Index(name = "ux_countries_name_key", columnList = "name_key", unique = true),
+        @Index(name = "idx_countries_region_key_gdp", columnList = "region_key, estimated_gdp"),
+        @Index(name = "idx_countries_currency_key_gdp", columnList = "currency_key, estimated_gdp"),
+        @Index(name = "idx_countries_estimated_gdp", columnList = "estimated_gdp"),
+        @Index(name = "idx_countries_population", columnList = "population"),
+        @Index(name = "idx_countries_name_sort_key", columnList = "name_sort_key")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Country {
 
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -55,4 +71,65 @@ public class Country {
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    // Normalized lookup keys, kept in sync with the columns above
+    @Column(name = "name_key", nullable = false, unique = true)
+    private String nameKey;
+
+    @Column(name = "region_key")
+    private String regionKey;
+
+    @Column(name = "currency_key", length = 10)
+    private String currencyKey;
+
+    // Name order for both the snapshot and the database, see sortKey()
+    @Column(name = "name_sort_key")
+    private String nameSortKey;
+
+    // SHA-256 of the upstream-derived columns, see computeContentHash()
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @PrePersist
+    @PreUpdate
+    void deriveColumns() {
+        nameKey = normalizeKey(name);
+        regionKey = normalizeKey(region);
+        currencyKey = normalizeKey(currencyCode);
+        nameSortKey = sortKey(name);
+        contentHash = computeContentHash();
+    }
+
+    public static String normalizeKey(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Lower-cases the name and strips its accents, so "Åland Islands" sorts among the A's. Compared
+     * code point by code point, this orders names the same in Java and in the binary-collated column.
+     */
+    public static String sortKey(String name) {
+        if (name == null) {
+            return null;
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return folded.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Hashes the fields that come from upstream. The estimated GDP is left out because its
+     * random multiplier changes on every refresh even when nothing upstream did.
+     */
+    public String computeContentHash() {
+        StringBuilder content = new StringBuilder(256);
+        for (Object field : new Object[]{name, capital, region, population, currencyCode, exchangeRate, flagUrl}) {
+            content.append(field != null ? field : "\u0000").append('\u001f');
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package dev.slethware.countriesapi.models.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Totals for one region or currency. Countries without a GDP only count towards the country
+ * count and population.
+ */
+public record CountryAggregateResponse(
+        String group,
+        @JsonProperty("country_count") Long countryCount,
+        @JsonProperty("total_population") Long totalPopulation,
+        @JsonProperty("total_estimated_gdp") Double totalEstimatedGdp
+) {
+
+    // SUM over no values is NULL in SQL; report zero like the in-memory totals
+    public CountryAggregateResponse {
+        totalPopulation = totalPopulation != null ? totalPopulation : 0L;
+        totalEstimatedGdp = totalEstimatedGdp != null ? totalEstimatedGdp : 0.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package dev.slethware.countriesapi.models.response;
+
+import dev.slethware.countriesapi.exception.BadRequestException;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The fields of {@link CountryResponse} a client can ask for with {@code fields=}, with the
+ * entity attribute each one is read from.
+ */
+public enum CountryField {
+
+    ID("id", "id", CountryResponse::id),
+    NAME("name", "name", CountryResponse::name),
+    CAPITAL("capital", "capital", CountryResponse::capital),
+    REGION("region", "region", CountryResponse::region),
+    POPULATION("population", "population", CountryResponse::population),
+    CURRENCY_CODE("currency_code", "currencyCode", CountryResponse::currencyCode),
+    EXCHANGE_RATE("exchange_rate", "exchangeRate", CountryResponse::exchangeRate),
+    ESTIMATED_GDP("estimated_gdp", "estimatedGdp", CountryResponse::estimatedGdp),
+    FLAG_URL("flag_url", "flagUrl", CountryResponse::flagUrl),
+    LAST_REFRESHED_AT("last_refreshed_at", "lastRefreshedAt", CountryResponse::lastRefreshedAt);
+
+    private final String param;
+    private final String attribute;
+    private final Function<CountryResponse, Object> accessor;
+
+    CountryField(String param, String attribute, Function<CountryResponse, Object> accessor) {
+        this.param = param;
+        this.attribute = attribute;
+        this.accessor = accessor;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Object valueOf(CountryResponse country) {
+        return accessor.apply(country);
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter; null means every field.
+     */
+    public static Set<CountryField> parse(String fields) {
+        if (fields == null) {
+            return null;
+        }
+
+        EnumSet<CountryField> selected = EnumSet.noneOf(CountryField.class);
+        for (String token : fields.split(",")) {
+            String name = token.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            selected.add(fromParam(name));
+        }
+        if (selected.isEmpty()) {
+            throw new BadRequestException("fields must name at least one field");
+        }
+        return selected;
+    }
+
+    private static CountryField fromParam(String param) {
+        for (CountryField value : values()) {
+            if (value.param.equals(param)) {
+                return value;
+            }
+        }
+        throw new BadRequestException("Unknown field: " + param);
+    }
+}
\ No newline at end of file
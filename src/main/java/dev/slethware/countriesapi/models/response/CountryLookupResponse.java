@@ -0,0 +1,12 @@
+package dev.slethware.countriesapi.models.response;
+
+import java.util.List;
+
+/**
+ * Result of a bulk lookup: matches in request order, and the requested names that matched nothing.
+ */
+public record CountryLookupResponse(
+        List<CountryResponse> countries,
+        List<String> missing
+) {
+}
\ No newline at end of file
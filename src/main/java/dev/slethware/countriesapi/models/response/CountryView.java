@@ -0,0 +1,42 @@
+package dev.slethware.countriesapi.models.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A country serialized with only the requested fields, in their usual order.
+ */
+@JsonSerialize(using = CountryView.Serializer.class)
+public record CountryView(CountryResponse country, Set<CountryField> fields) {
+
+    // Without a field selection the plain response is returned, so full bodies serialize as before
+    public static Object of(CountryResponse country, Set<CountryField> fields) {
+        return fields == null ? country : new CountryView(country, fields);
+    }
+
+    public static List<?> of(List<CountryResponse> countries, Set<CountryField> fields) {
+        return fields == null ? countries : countries.stream().map(country -> new CountryView(country, fields)).toList();
+    }
+
+    public static class Serializer extends StdSerializer<CountryView> {
+
+        public Serializer() {
+            super(CountryView.class);
+        }
+
+        @Override
+        public void serialize(CountryView view, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            for (CountryField field : view.fields()) {
+                provider.defaultSerializeField(field.getParam(), field.valueOf(view.country()), gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
\ No newline at end of file
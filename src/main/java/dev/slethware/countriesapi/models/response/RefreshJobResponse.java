@@ -0,0 +1,24 @@
+package dev.slethware.countriesapi.models.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.slethware.countriesapi.service.country.RefreshPhase;
+import dev.slethware.countriesapi.service.refresh.RefreshType;
+
+import java.time.LocalDateTime;
+
+public record RefreshJobResponse(
+        String id,
+        RefreshType type,
+        RefreshPhase phase,
+        @JsonProperty("countries_processed") int countriesProcessed,
+        @JsonProperty("countries_failed") int countriesFailed,
+        int inserted,
+        int updated,
+        int unchanged,
+        String message,
+        String error,
+        @JsonProperty("submitted_at") LocalDateTime submittedAt,
+        @JsonProperty("started_at") LocalDateTime startedAt,
+        @JsonProperty("finished_at") LocalDateTime finishedAt
+) {
+}
\ No newline at end of file
@@ -1,41 +1,88 @@
 package dev.slethware.countriesapi.repository;
 
 import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryAggregateResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Lookups take already-normalized keys (see {@link Country#normalizeKey}) and compare them
+ * against the indexed *_key columns, never against LOWER(column). Queries run read-only, which
+ * sends them to a replica when replicas are configured.
+ */
 @Repository
-public interface CountryRepository extends JpaRepository<Country, Long> {
+public interface CountryRepository extends JpaRepository<Country, Long>, JpaSpecificationExecutor<Country>,
+        CountryRepositoryCustom {
 
-    @Query("SELECT c FROM Country c WHERE LOWER(c.name) = LOWER(:name)")
-    Optional<Country> findByNameIgnoreCase(@Param("name") String name);
+    @Transactional(readOnly = true)
+    Optional<Country> findByNameKey(String nameKey);
 
+    @Transactional(readOnly = true)
+    List<Country> findByNameKeyIn(Collection<String> nameKeys);
+
+    @Transactional(readOnly = true)
     @Query("""
         SELECT c FROM Country c
-        WHERE (:region IS NULL OR LOWER(c.region) = LOWER(:region))
-        AND (:currencyCode IS NULL OR LOWER(c.currencyCode) = LOWER(:currencyCode))
-        ORDER BY
-            CASE WHEN :sort = 'gdp_desc' THEN c.estimatedGdp END DESC,
-            CASE WHEN :sort = 'gdp_asc' THEN c.estimatedGdp END ASC,
-            CASE WHEN :sort = 'name_asc' THEN c.name END ASC,
-            CASE WHEN :sort = 'name_desc' THEN c.name END DESC,
-            CASE WHEN :sort IS NULL THEN c.id END ASC
+        WHERE (:regionKey IS NULL OR c.regionKey = :regionKey)
+        AND (:currencyKey IS NULL OR c.currencyKey = :currencyKey)
     """)
     List<Country> findCountriesWithFiltersAndSorting(
-            @Param("region") String region,
-            @Param("currencyCode") String currencyCode,
-            @Param("sort") String sort
+            @Param("regionKey") String regionKey,
+            @Param("currencyKey") String currencyKey,
+            Sort sort
     );
 
+    @Transactional(readOnly = true)
     @Query("SELECT MAX(c.lastRefreshedAt) FROM Country c")
     LocalDateTime findMaxLastRefreshedAt();
 
-    @Query("SELECT c FROM Country c ORDER BY c.estimatedGdp DESC NULLS LAST")
-    List<Country> findTop5ByEstimatedGdpDesc();
+    // MySQL already sorts NULLs last when descending; spelling it out would defeat the index
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT c FROM Country c
+        WHERE (:regionKey IS NULL OR c.regionKey = :regionKey)
+        ORDER BY c.estimatedGdp DESC, c.id ASC
+    """)
+    List<Country> findTopByEstimatedGdp(@Param("regionKey") String regionKey, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT c FROM Country c
+        WHERE (:regionKey IS NULL OR c.regionKey = :regionKey)
+        ORDER BY c.population DESC, c.id ASC
+    """)
+    List<Country> findTopByPopulation(@Param("regionKey") String regionKey, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT new dev.slethware.countriesapi.models.response.CountryAggregateResponse(
+            MIN(c.region), COUNT(c), SUM(c.population), SUM(c.estimatedGdp))
+        FROM Country c
+        WHERE c.regionKey IS NOT NULL
+        GROUP BY c.regionKey
+        ORDER BY c.regionKey
+    """)
+    List<CountryAggregateResponse> aggregateByRegion();
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT new dev.slethware.countriesapi.models.response.CountryAggregateResponse(
+            MIN(c.currencyCode), COUNT(c), SUM(c.population), SUM(c.estimatedGdp))
+        FROM Country c
+        WHERE c.currencyKey IS NOT NULL
+        GROUP BY c.currencyKey
+        ORDER BY c.currencyKey
+    """)
+    List<CountryAggregateResponse> aggregateByCurrency();
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package dev.slethware.countriesapi.repository;
+
+import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface CountryRepositoryCustom {
+
+    /**
+     * Loads every stored country keyed by normalized name, in a single query. The returned
+     * objects are detached, so changing them never writes back through Hibernate.
+     */
+    Map<String, Country> loadRowsByNameKey();
+
+    /**
+     * Selects only the columns behind {@code fields} (and the id) straight into responses, without
+     * hydrating entities; everything else is left null. A {@code limit} of 0 returns every match.
+     */
+    List<CountryResponse> findProjected(Specification<Country> filter, Sort sort, Set<CountryField> fields, int limit);
+
+    int batchInsert(List<Country> countries);
+
+    int batchUpdate(List<Country> countries);
+
+    /**
+     * Writes only the exchange rate, estimated GDP, content hash and refresh time of each country.
+     */
+    int batchUpdateRates(List<Country> countries);
+
+    /**
+     * Sets only the refresh time of the given rows, for countries a refresh found unchanged.
+     */
+    int markRefreshed(Collection<Long> ids, LocalDateTime refreshedAt);
+}
\ No newline at end of file
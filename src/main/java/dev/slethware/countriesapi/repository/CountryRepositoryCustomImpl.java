@@ -0,0 +1,207 @@
+package dev.slethware.countriesapi.repository;
+
+import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain JDBC batch writes for the refresh path. {@code Country} uses IDENTITY ids,
+ * which stops Hibernate from batching inserts, so the bulk upsert bypasses the
+ * persistence context entirely. Projected reads likewise skip entity hydration.
+ */
+@RequiredArgsConstructor
+public class CountryRepositoryCustomImpl implements CountryRepositoryCustom {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO countries (name, capital, region, population, currency_code, exchange_rate,
+                               estimated_gdp, flag_url, last_refreshed_at, name_key, region_key,
+                               currency_key, name_sort_key, content_hash, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE countries
+        SET name = ?, capital = ?, region = ?, population = ?, currency_code = ?, exchange_rate = ?,
+            estimated_gdp = ?, flag_url = ?, last_refreshed_at = ?, name_key = ?, region_key = ?,
+            currency_key = ?, name_sort_key = ?, content_hash = ?
+        WHERE id = ?
+    """;
+
+    private static final String UPDATE_RATES_SQL = """
+        UPDATE countries
+        SET exchange_rate = ?, estimated_gdp = ?, content_hash = ?, last_refreshed_at = ?
+        WHERE id = ?
+    """;
+
+    // Bounds the IN list of a single mark-refreshed statement
+    private static final int MAX_IN_LIST = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<String, Country> loadRowsByNameKey() {
+        Map<String, Country> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT * FROM countries", rs -> {
+            Country country = new Country();
+            country.setId(rs.getLong("id"));
+            country.setName(rs.getString("name"));
+            country.setCapital(rs.getString("capital"));
+            country.setRegion(rs.getString("region"));
+            country.setPopulation(rs.getLong("population"));
+            country.setCurrencyCode(rs.getString("currency_code"));
+            country.setExchangeRate(rs.getObject("exchange_rate", Double.class));
+            country.setEstimatedGdp(rs.getObject("estimated_gdp", Double.class));
+            country.setFlagUrl(rs.getString("flag_url"));
+            country.setContentHash(rs.getString("content_hash"));
+            rows.put(rs.getString("name_key"), country);
+        });
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CountryResponse> findProjected(Specification<Country> filter, Sort sort, Set<CountryField> fields,
+                                               int limit) {
+        EnumSet<CountryField> selected = EnumSet.copyOf(fields);
+        selected.add(CountryField.ID);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Country> root = query.from(Country.class);
+        query.multiselect(selected.stream()
+                .<Selection<?>>map(field -> root.get(field.getAttribute()).alias(field.name()))
+                .toList());
+
+        Predicate where = filter.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+
+        return typedQuery.getResultList().stream()
+                .map(tuple -> new CountryResponse(
+                        value(tuple, selected, CountryField.ID, Long.class),
+                        value(tuple, selected, CountryField.NAME, String.class),
+                        value(tuple, selected, CountryField.CAPITAL, String.class),
+                        value(tuple, selected, CountryField.REGION, String.class),
+                        value(tuple, selected, CountryField.POPULATION, Long.class),
+                        value(tuple, selected, CountryField.CURRENCY_CODE, String.class),
+                        value(tuple, selected, CountryField.EXCHANGE_RATE, Double.class),
+                        value(tuple, selected, CountryField.ESTIMATED_GDP, Double.class),
+                        value(tuple, selected, CountryField.FLAG_URL, String.class),
+                        value(tuple, selected, CountryField.LAST_REFRESHED_AT, LocalDateTime.class)))
+                .toList();
+    }
+
+    @Override
+    public int batchInsert(List<Country> countries) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, countries, BATCH_SIZE, (ps, country) -> {
+            int index = bindColumns(ps, country);
+            ps.setTimestamp(index, Timestamp.valueOf(now));
+        });
+        return countries.size();
+    }
+
+    @Override
+    public int batchUpdate(List<Country> countries) {
+        jdbcTemplate.batchUpdate(UPDATE_SQL, countries, BATCH_SIZE, (ps, country) -> {
+            int index = bindColumns(ps, country);
+            ps.setLong(index, country.getId());
+        });
+        return countries.size();
+    }
+
+    @Override
+    public int batchUpdateRates(List<Country> countries) {
+        jdbcTemplate.batchUpdate(UPDATE_RATES_SQL, countries, BATCH_SIZE, (ps, country) -> {
+            ps.setObject(1, country.getExchangeRate(), Types.DOUBLE);
+            ps.setObject(2, country.getEstimatedGdp(), Types.DOUBLE);
+            ps.setString(3, country.computeContentHash());
+            ps.setTimestamp(4, Timestamp.valueOf(country.getLastRefreshedAt()));
+            ps.setLong(5, country.getId());
+        });
+        return countries.size();
+    }
+
+    @Override
+    public int markRefreshed(Collection<Long> ids, LocalDateTime refreshedAt) {
+        List<Long> remaining = List.copyOf(ids);
+        int updated = 0;
+        for (int start = 0; start < remaining.size(); start += MAX_IN_LIST) {
+            List<Long> chunk = remaining.subList(start, Math.min(start + MAX_IN_LIST, remaining.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(Timestamp.valueOf(refreshedAt));
+            args.addAll(chunk);
+            updated += jdbcTemplate.update(
+                    "UPDATE countries SET last_refreshed_at = ? WHERE id IN (" + placeholders + ")", args.toArray());
+        }
+        return updated;
+    }
+
+    // Binds the columns shared by insert and update, returning the next parameter index
+    private int bindColumns(PreparedStatement ps, Country country) throws SQLException {
+        ps.setString(1, country.getName());
+        ps.setString(2, country.getCapital());
+        ps.setString(3, country.getRegion());
+        ps.setLong(4, country.getPopulation());
+        ps.setString(5, country.getCurrencyCode());
+        ps.setObject(6, country.getExchangeRate(), Types.DOUBLE);
+        ps.setObject(7, country.getEstimatedGdp(), Types.DOUBLE);
+        ps.setString(8, country.getFlagUrl());
+        ps.setTimestamp(9, country.getLastRefreshedAt() != null
+                ? Timestamp.valueOf(country.getLastRefreshedAt())
+                : Timestamp.valueOf(LocalDateTime.now()));
+        ps.setString(10, Country.normalizeKey(country.getName()));
+        ps.setString(11, Country.normalizeKey(country.getRegion()));
+        ps.setString(12, Country.normalizeKey(country.getCurrencyCode()));
+        ps.setString(13, Country.sortKey(country.getName()));
+        ps.setString(14, country.computeContentHash());
+        return 15;
+    }
+
+    private static <T> T value(Tuple tuple, Set<CountryField> selected, CountryField field, Class<T> type) {
+        return selected.contains(field) ? tuple.get(field.name(), type) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package dev.slethware.countriesapi.service.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best {@code capacity} elements seen so far in a heap of at most that size,
+ * so ranking n rows costs O(n log capacity) and never holds more than capacity elements.
+ */
+final class BoundedTopN<T> {
+
+    private final int capacity;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    BoundedTopN(int capacity, Comparator<? super T> order) {
+        this.capacity = capacity;
+        this.order = order;
+        // The head of the heap is the worst element kept, ready to be evicted
+        this.heap = new PriorityQueue<>(capacity + 1, order.reversed());
+    }
+
+    void offer(T element) {
+        if (heap.size() < capacity) {
+            heap.offer(element);
+        } else if (order.compare(element, heap.peek()) < 0) {
+            heap.poll();
+            heap.offer(element);
+        }
+    }
+
+    List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(order);
+        return List.copyOf(sorted);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package dev.slethware.countriesapi.service.cache;
+
+import org.springframework.http.MediaType;
+
+/**
+ * A serialized response body with its content type. JSON bodies also carry a pre-compressed
+ * gzip variant; binary formats have none.
+ */
+public record CachedResponse(MediaType contentType, byte[] body, byte[] gzip) {
+}
\ No newline at end of file
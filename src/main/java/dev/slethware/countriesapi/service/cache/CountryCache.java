@@ -0,0 +1,93 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.repository.CountryRepository;
+import dev.slethware.countriesapi.service.country.CountriesChangedEvent;
+import dev.slethware.countriesapi.service.country.CountryMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current {@link CountrySnapshot}. Built at startup and swapped
+ * atomically after every committed change, so reads never hit the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CountryCache {
+
+    private final CountryRepository countryRepository;
+    private final SnapshotFileStore snapshotFileStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile CountrySnapshot snapshot;
+    // Rates of the last committed refresh; a fetch that rolled back never reaches them
+    private volatile Map<String, Double> exchangeRates = Map.of();
+
+    @PostConstruct
+    void init() {
+        // Start from the last good dataset on disk, so reads are served even when the
+        // database is empty or unreachable. Its rates price the rows until this process commits a refresh
+        Optional<StoredDataset> lastGood = snapshotFileStore.getLastGood();
+        lastGood.ifPresent(dataset -> exchangeRates = dataset.exchangeRates());
+        lastGood.filter(dataset -> !dataset.countries().isEmpty())
+                .ifPresent(dataset -> {
+                    snapshot = CountrySnapshot.of(versions.incrementAndGet(), dataset.countries(),
+                            exchangeRates);
+                    log.info("Country snapshot v{} loaded from disk with {} countries",
+                            snapshot.getVersion(), snapshot.size());
+                });
+
+        try {
+            if (snapshot == null || countryRepository.count() > 0) {
+                reload();
+            }
+        } catch (Exception e) {
+            // Reads use the disk snapshot, or fall back to the database, until the next successful reload
+            log.error("Could not build country snapshot at startup", e);
+        }
+    }
+
+    public Optional<CountrySnapshot> getSnapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCountriesChanged(CountriesChangedEvent event) {
+        if (event.exchangeRates() != null) {
+            exchangeRates = Map.copyOf(event.exchangeRates());
+        }
+
+        CountrySnapshot rebuilt;
+        try {
+            rebuilt = reload();
+        } catch (Exception e) {
+            // Drop the stale snapshot so reads go back to the database
+            log.error("Could not rebuild country snapshot, falling back to database reads", e);
+            snapshot = null;
+            return;
+        }
+        eventPublisher.publishEvent(new CountrySnapshotUpdatedEvent(rebuilt));
+    }
+
+    private synchronized CountrySnapshot reload() {
+        CountrySnapshot rebuilt = CountrySnapshot.of(
+                versions.incrementAndGet(),
+                CountryMapper.toResponseList(countryRepository.findAll()),
+                exchangeRates
+        );
+        snapshot = rebuilt;
+        log.info("Country snapshot v{} built with {} countries", rebuilt.getVersion(), rebuilt.size());
+        return rebuilt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package dev.slethware.countriesapi.service.cache;
+
+import com.google.protobuf.CodedOutputStream;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import dev.slethware.countriesapi.models.response.StatusResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Encodes country responses in the protobuf wire format described by {@code src/main/proto/countries.proto}.
+ * Written directly with {@link CodedOutputStream} so the records need no generated counterparts.
+ */
+public final class CountryProtobuf {
+
+    private static final Set<CountryField> ALL_FIELDS = EnumSet.allOf(CountryField.class);
+
+    private CountryProtobuf() {
+    }
+
+    /**
+     * Encodes a {@code CountryList}; a null {@code fields} writes every field.
+     */
+    public static byte[] encodeCountries(List<CountryResponse> countries, Set<CountryField> fields) {
+        return encode(out -> {
+            for (CountryResponse country : countries) {
+                out.writeByteArray(1, encodeCountry(country, fields));
+            }
+        });
+    }
+
+    public static byte[] encodeCountry(CountryResponse country, Set<CountryField> fields) {
+        Set<CountryField> selected = fields != null ? fields : ALL_FIELDS;
+        return encode(out -> {
+            for (CountryField field : selected) {
+                Object value = field.valueOf(country);
+                if (value == null) {
+                    continue;
+                }
+                int number = fieldNumber(field);
+                switch (value) {
+                    case Long number64 -> out.writeInt64(number, number64);
+                    case Double real -> out.writeDouble(number, real);
+                    case LocalDateTime time -> out.writeString(number, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time));
+                    default -> out.writeString(number, value.toString());
+                }
+            }
+        });
+    }
+
+    public static byte[] encodeStatus(StatusResponse status) {
+        return encode(out -> {
+            out.writeInt64(1, status.totalCountries());
+            if (status.lastRefreshedAt() != null) {
+                out.writeString(2, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(status.lastRefreshedAt()));
+            }
+        });
+    }
+
+    private static int fieldNumber(CountryField field) {
+        return switch (field) {
+            case ID -> 1;
+            case NAME -> 2;
+            case CAPITAL -> 3;
+            case REGION -> 4;
+            case POPULATION -> 5;
+            case CURRENCY_CODE -> 6;
+            case EXCHANGE_RATE -> 7;
+            case ESTIMATED_GDP -> 8;
+            case FLAG_URL -> 9;
+            case LAST_REFRESHED_AT -> 10;
+        };
+    }
+
+    private static byte[] encode(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        try {
+            writer.write(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private interface Writer {
+        void write(CodedOutputStream out) throws IOException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package dev.slethware.countriesapi.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.slethware.countriesapi.exception.InternalServerException;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import dev.slethware.countriesapi.service.country.CountrySort;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized GET /countries bodies per region/currency/sort/base/fields combination and response format;
+ * JSON bodies are also kept gzipped.
+ * Entries are keyed by snapshot version, so a refresh or delete invalidates them, and held in an LRU
+ * of bounded size. Filters naming a region or currency the snapshot does not have are never cached.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CountryResponseCache implements SmartInitializingSingleton {
+
+    private static final int MAX_ENTRIES = 512;
+
+    private final CountryCache countryCache;
+    private final CrossRateCache crossRateCache;
+    private final ObjectMapper objectMapper;
+    // Access-ordered, so the least recently used entry is the one dropped when full
+    private final LinkedHashMap<Key, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedResponse> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private ResponseEncoder encoder;
+    private long cachedVersion;
+
+    @PostConstruct
+    void init() {
+        encoder = new ResponseEncoder(objectMapper);
+    }
+
+    /**
+     * Returns the cached body for the query, rendering it on first use.
+     * Empty while no snapshot is available.
+     */
+    public Optional<CachedResponse> getCountries(String region, String currency, String sort, String base,
+                                               Set<CountryField> fields, ResponseFormat format) {
+        Optional<CountrySnapshot> current = countryCache.getSnapshot();
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+
+        CountrySnapshot snapshot = current.get();
+
+        CountrySort countrySort = CountrySort.fromParam(sort);
+        UnaryOperator<CountryResponse> toBase = crossRateCache.converterTo(snapshot, base);
+        Key key = new Key(snapshot.getVersion(), CountrySnapshot.normalize(region),
+                CountrySnapshot.normalize(currency), countrySort, base != null ? base.toUpperCase(Locale.ROOT) : null, fields,
+                format);
+
+        CachedResponse cached = lookup(key);
+        if (cached == null) {
+            List<CountryResponse> countries = snapshot.find(region, currency, countrySort);
+            cached = render(base != null ? countries.stream().map(toBase).toList() : countries, fields, format);
+            // Unknown filter values match nothing; caching them would let arbitrary query strings evict real entries
+            if (snapshot.hasRegion(region) && snapshot.hasCurrency(currency)) {
+                store(key, cached);
+            }
+        }
+        return Optional.of(cached);
+    }
+
+    // Runs before the web server starts, so the first unfiltered request is already serialized
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            getCountries(null, null, null, null, null, ResponseFormat.JSON);
+        } catch (Exception e) {
+            log.warn("Could not pre-render the countries response", e);
+        }
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private synchronized CachedResponse lookup(Key key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(Key key, CachedResponse response) {
+        if (key.version() > cachedVersion) {
+            entries.clear();
+            cachedVersion = key.version();
+        }
+        // Bodies rendered from an older snapshot are served but not kept
+        if (key.version() == cachedVersion) {
+            entries.putIfAbsent(key, response);
+        }
+    }
+
+    private CachedResponse render(List<CountryResponse> countries, Set<CountryField> fields, ResponseFormat format) {
+        try {
+            byte[] body = encoder.encode(countries, fields, format);
+            // Binary formats are already compact, so only JSON is worth compressing
+            return new CachedResponse(format.getMediaType(), body, format == ResponseFormat.JSON ? gzip(body) : null);
+        } catch (IOException e) {
+            throw new InternalServerException("Failed to serialize countries", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(long version, String region, String currency, CountrySort sort, String base,
+                       Set<CountryField> fields, ResponseFormat format) {
+    }
+}
\ No newline at end of file
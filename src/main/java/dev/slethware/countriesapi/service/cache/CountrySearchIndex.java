@@ -0,0 +1,181 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Autocomplete index over country names, the later words of each name and capitals. Every trie
+ * node keeps its best-ranked matches, so a prefix query costs one walk down the query's characters.
+ * When a prefix matches nothing, the trie is walked again with a Levenshtein row per node to find
+ * terms starting within one or two edits of the query.
+ */
+final class CountrySearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private final Node root = new Node();
+
+    CountrySearchIndex(List<CountryResponse> countries, int maxResults) {
+        for (CountryResponse country : countries) {
+            if (country.name() != null) {
+                String name = fold(country.name());
+                add(name, new Hit(country, Match.NAME));
+                // Later words too, so "kingdom" finds United Kingdom
+                for (int i = 1; i < name.length(); i++) {
+                    if (isSeparator(name.charAt(i - 1)) && !isSeparator(name.charAt(i))) {
+                        add(name.substring(i), new Hit(country, Match.NAME_WORD));
+                    }
+                }
+            }
+            if (country.capital() != null) {
+                add(fold(country.capital()), new Hit(country, Match.CAPITAL));
+            }
+        }
+        root.freeze(maxResults);
+    }
+
+    /**
+     * Countries with a name, name word or capital starting with {@code query}, best first.
+     * Falls back to typo-tolerant matching when nothing starts with it.
+     */
+    List<CountryResponse> search(String query, int limit) {
+        String key = fold(query);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node != null) {
+            return node.hits.stream()
+                    .limit(limit)
+                    .map(Hit::country)
+                    .toList();
+        }
+        return key.length() < MIN_FUZZY_LENGTH ? List.of() : fuzzy(key, limit);
+    }
+
+    private List<CountryResponse> fuzzy(String key, int limit) {
+        int maxEdits = key.length() <= 4 ? 1 : 2;
+        Map<Long, Candidate> candidates = new HashMap<>();
+
+        int[] firstRow = new int[key.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        for (Map.Entry<Character, Node> child : root.children.entrySet()) {
+            walk(child.getValue(), child.getKey(), null, key, firstRow, maxEdits, candidates);
+        }
+
+        return candidates.values().stream()
+                .sorted(Comparator.comparingInt(Candidate::edits).thenComparing(Candidate::hit, Hit.RANK))
+                .limit(limit)
+                .map(candidate -> candidate.hit().country())
+                .toList();
+    }
+
+    // One row of the edit-distance table per trie node; adjacent transpositions count as one edit
+    private void walk(Node node, char letter, int[] grandparentRow, String key, int[] parentRow, int maxEdits,
+                      Map<Long, Candidate> candidates) {
+        int[] row = new int[parentRow.length];
+        row[0] = parentRow[0] + 1;
+        int best = row[0];
+        for (int i = 1; i < row.length; i++) {
+            int cost = key.charAt(i - 1) == letter ? 0 : 1;
+            row[i] = Math.min(Math.min(row[i - 1] + 1, parentRow[i] + 1), parentRow[i - 1] + cost);
+            if (grandparentRow != null && i > 1 && key.charAt(i - 1) == node.parentLetter
+                    && key.charAt(i - 2) == letter) {
+                row[i] = Math.min(row[i], grandparentRow[i - 2] + 1);
+            }
+            best = Math.min(best, row[i]);
+        }
+
+        int edits = row[row.length - 1];
+        if (edits <= maxEdits) {
+            for (Hit hit : node.hits) {
+                candidates.merge(hit.country().id(), new Candidate(hit, edits), Candidate::better);
+            }
+        }
+        // Once every cell is over the budget no deeper term can come back within it
+        if (best <= maxEdits) {
+            for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                walk(child.getValue(), child.getKey(), parentRow, key, row, maxEdits, candidates);
+            }
+        }
+    }
+
+    private void add(String term, Hit hit) {
+        Node node = root;
+        node.hits.add(hit);
+        char previous = 0;
+        for (int i = 0; i < term.length(); i++) {
+            char letter = term.charAt(i);
+            Node parent = node;
+            node = parent.children.get(letter);
+            if (node == null) {
+                node = new Node();
+                node.parentLetter = previous;
+                parent.children.put(letter, node);
+            }
+            node.hits.add(hit);
+            previous = letter;
+        }
+    }
+
+    static String fold(String value) {
+        return MARKS.matcher(Normalizer.normalize(value.trim(), Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '-' || c == '\'' || c == '(';
+    }
+
+    private enum Match {
+        NAME, NAME_WORD, CAPITAL
+    }
+
+    private record Hit(CountryResponse country, Match match) {
+
+        // Name matches before word and capital matches, then the most populous first
+        static final Comparator<Hit> RANK = Comparator.comparing(Hit::match)
+                .thenComparing(hit -> hit.country().population(), Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(hit -> hit.country().id());
+    }
+
+    private record Candidate(Hit hit, int edits) {
+
+        Candidate better(Candidate other) {
+            int byEdits = Integer.compare(edits, other.edits);
+            return byEdits < 0 || (byEdits == 0 && Hit.RANK.compare(hit, other.hit) <= 0) ? this : other;
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private List<Hit> hits = new ArrayList<>();
+        private char parentLetter;
+
+        // Keeps one hit per country (its best match) and only as many as a query can ask for
+        void freeze(int maxResults) {
+            Map<Long, Hit> unique = new HashMap<>();
+            for (Hit hit : hits) {
+                unique.merge(hit.country().id(), hit, (a, b) -> Hit.RANK.compare(a, b) <= 0 ? a : b);
+            }
+            hits = unique.values().stream()
+                    .sorted(Hit.RANK)
+                    .limit(maxResults)
+                    .toList();
+            for (Node child : children.values()) {
+                child.freeze(maxResults);
+            }
+        }
+    }
+}
\ No newline at end of file
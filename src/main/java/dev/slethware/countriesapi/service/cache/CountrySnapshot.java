@@ -0,0 +1,286 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryAggregateResponse;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import dev.slethware.countriesapi.service.country.AggregateGroup;
+import dev.slethware.countriesapi.service.country.CountryCursor;
+import dev.slethware.countriesapi.service.country.CountryPage;
+import dev.slethware.countriesapi.service.country.CountrySort;
+import dev.slethware.countriesapi.service.country.TopMetric;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Immutable view of every stored country with pre-sorted lists for each sort mode,
+ * both for the whole table and per normalized region / currency code, plus the
+ * per-region and per-currency totals and a name/capital search index. The exchange rates the
+ * countries were priced with travel with it, so a {@code base=} conversion never mixes refreshes.
+ */
+public final class CountrySnapshot {
+
+    public static final int MAX_TOP_N = 50;
+    public static final int MAX_SEARCH_RESULTS = 50;
+
+    private final long version;
+    private final List<CountryResponse> countries;
+    private final LocalDateTime lastRefreshedAt;
+    private final Map<String, CountryResponse> byName;
+    private final Map<CountrySort, List<CountryResponse>> sorted;
+    private final Map<String, Map<CountrySort, List<CountryResponse>>> byRegion;
+    private final Map<String, Map<CountrySort, List<CountryResponse>>> byCurrency;
+    private final Map<TopMetric, List<CountryResponse>> top;
+    private final Map<TopMetric, Map<String, List<CountryResponse>>> topByRegion;
+    private final Map<AggregateGroup, List<CountryAggregateResponse>> aggregates;
+    private final CountrySearchIndex searchIndex;
+    private final Map<String, Double> exchangeRates;
+    private final CrossRateTable crossRates;
+
+    private CountrySnapshot(long version, List<CountryResponse> countries, Map<String, Double> exchangeRates) {
+        this.version = version;
+        this.countries = countries;
+        this.exchangeRates = exchangeRates;
+        this.crossRates = exchangeRates.isEmpty() ? null : CrossRateTable.of(exchangeRates);
+
+        Map<String, CountryResponse> names = new HashMap<>();
+        LocalDateTime latest = null;
+        for (CountryResponse country : countries) {
+            if (country.name() != null) {
+                names.put(normalize(country.name()), country);
+            }
+            if (country.lastRefreshedAt() != null
+                    && (latest == null || country.lastRefreshedAt().isAfter(latest))) {
+                latest = country.lastRefreshedAt();
+            }
+        }
+        this.lastRefreshedAt = latest;
+        this.byName = Map.copyOf(names);
+        this.sorted = sortedViews(countries);
+        this.byRegion = index(countries, CountryResponse::region);
+        this.byCurrency = index(countries, CountryResponse::currencyCode);
+
+        // Rankings are kept in bounded heaps, globally and per region
+        Map<TopMetric, List<CountryResponse>> topLists = new EnumMap<>(TopMetric.class);
+        Map<TopMetric, Map<String, List<CountryResponse>>> topRegionLists = new EnumMap<>(TopMetric.class);
+        for (TopMetric metric : TopMetric.values()) {
+            BoundedTopN<CountryResponse> overall = new BoundedTopN<>(MAX_TOP_N, metric.getComparator());
+            Map<String, BoundedTopN<CountryResponse>> regions = new HashMap<>();
+
+            for (CountryResponse country : countries) {
+                overall.offer(country);
+                if (country.region() != null) {
+                    regions.computeIfAbsent(normalize(country.region()),
+                            k -> new BoundedTopN<>(MAX_TOP_N, metric.getComparator())).offer(country);
+                }
+            }
+
+            Map<String, List<CountryResponse>> regionLists = new HashMap<>();
+            regions.forEach((region, heap) -> regionLists.put(region, heap.toSortedList()));
+            topLists.put(metric, overall.toSortedList());
+            topRegionLists.put(metric, Map.copyOf(regionLists));
+        }
+        this.top = Collections.unmodifiableMap(topLists);
+        this.topByRegion = Collections.unmodifiableMap(topRegionLists);
+
+        Map<AggregateGroup, List<CountryAggregateResponse>> totals = new EnumMap<>(AggregateGroup.class);
+        for (AggregateGroup group : AggregateGroup.values()) {
+            totals.put(group, aggregate(countries, group));
+        }
+        this.aggregates = Collections.unmodifiableMap(totals);
+        this.searchIndex = new CountrySearchIndex(countries, MAX_SEARCH_RESULTS);
+    }
+
+    public static CountrySnapshot of(long version, Collection<CountryResponse> countries) {
+        return of(version, countries, Map.of());
+    }
+
+    public static CountrySnapshot of(long version, Collection<CountryResponse> countries,
+                                     Map<String, Double> exchangeRates) {
+        List<CountryResponse> ordered = new ArrayList<>(countries);
+        ordered.sort(CountrySort.DEFAULT.getComparator());
+        return new CountrySnapshot(version, List.copyOf(ordered), Map.copyOf(exchangeRates));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return countries.size();
+    }
+
+    public List<CountryResponse> getCountries() {
+        return countries;
+    }
+
+    /**
+     * USD rates the countries were priced with; empty when none were known at build time.
+     */
+    public Map<String, Double> getExchangeRates() {
+        return exchangeRates;
+    }
+
+    public Optional<CrossRateTable> getCrossRates() {
+        return Optional.ofNullable(crossRates);
+    }
+
+    public LocalDateTime getLastRefreshedAt() {
+        return lastRefreshedAt;
+    }
+
+    public Optional<CountryResponse> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(byName.get(normalize(name)));
+    }
+
+    /**
+     * Whether some country is in {@code region}; a null region matches everything.
+     */
+    public boolean hasRegion(String region) {
+        return region == null || byRegion.containsKey(normalize(region));
+    }
+
+    /**
+     * Whether some country uses {@code currency}; a null currency matches everything.
+     */
+    public boolean hasCurrency(String currency) {
+        return currency == null || byCurrency.containsKey(normalize(currency));
+    }
+
+    public List<CountryResponse> find(String region, String currency, CountrySort sort) {
+        if (region == null && currency == null) {
+            return sorted.get(sort);
+        }
+        if (region == null) {
+            return view(byCurrency, currency, sort);
+        }
+        if (currency == null) {
+            return view(byRegion, region, sort);
+        }
+
+        // Both filters: walk the currency view (usually the smaller one) and keep its order
+        String regionKey = normalize(region);
+        return view(byCurrency, currency, sort).stream()
+                .filter(country -> country.region() != null && normalize(country.region()).equals(regionKey))
+                .toList();
+    }
+
+    /**
+     * Returns up to {@code limit} countries that sort after {@code cursor} (from the start when null).
+     * Each view is already in cursor order, so the page start is a binary search.
+     */
+    public CountryPage page(String region, String currency, CountrySort sort, CountryCursor cursor, int limit) {
+        List<CountryResponse> view = find(region, currency, sort);
+
+        int start = 0;
+        if (cursor != null) {
+            int position = Collections.binarySearch(view, cursor.toProbe(), sort.getComparator());
+            start = position >= 0 ? position + 1 : -position - 1;
+        }
+
+        int end = Math.min(start + limit, view.size());
+        List<CountryResponse> countries = view.subList(start, end);
+        String nextCursor = end < view.size()
+                ? CountryCursor.after(sort, countries.get(countries.size() - 1)).encode()
+                : null;
+        return new CountryPage(countries, nextCursor);
+    }
+
+    /**
+     * Returns up to {@code n} (at most {@link #MAX_TOP_N}) countries ranked by {@code metric},
+     * optionally restricted to a region.
+     */
+    public List<CountryResponse> top(TopMetric metric, int n, String region) {
+        List<CountryResponse> ranked = region == null
+                ? top.get(metric)
+                : topByRegion.get(metric).getOrDefault(normalize(region), List.of());
+        return ranked.subList(0, Math.min(n, ranked.size()));
+    }
+
+    /**
+     * Country count, population and GDP totals per region or currency, ordered by normalized key.
+     */
+    public List<CountryAggregateResponse> aggregates(AggregateGroup group) {
+        return aggregates.get(group);
+    }
+
+    /**
+     * Up to {@code limit} (at most {@link #MAX_SEARCH_RESULTS}) countries whose name, a word of
+     * the name or capital starts with {@code query}, ignoring case and accents. Close misspellings
+     * are matched when nothing starts with the query.
+     */
+    public List<CountryResponse> search(String query, int limit) {
+        return searchIndex.search(query, Math.min(limit, MAX_SEARCH_RESULTS));
+    }
+
+    public static String normalize(String value) {
+        return Country.normalizeKey(value);
+    }
+
+    private static List<CountryResponse> view(Map<String, Map<CountrySort, List<CountryResponse>>> index,
+                                              String key, CountrySort sort) {
+        Map<CountrySort, List<CountryResponse>> views = index.get(normalize(key));
+        return views != null ? views.get(sort) : List.of();
+    }
+
+    private static Map<String, Map<CountrySort, List<CountryResponse>>> index(
+            List<CountryResponse> countries, Function<CountryResponse, String> keyExtractor) {
+
+        Map<String, List<CountryResponse>> groups = new HashMap<>();
+        for (CountryResponse country : countries) {
+            String key = keyExtractor.apply(country);
+            if (key != null) {
+                groups.computeIfAbsent(normalize(key), k -> new ArrayList<>()).add(country);
+            }
+        }
+
+        Map<String, Map<CountrySort, List<CountryResponse>>> index = new HashMap<>();
+        groups.forEach((key, group) -> index.put(key, sortedViews(group)));
+        return Map.copyOf(index);
+    }
+
+    // Grouped like the database fallback: by normalized key, labelled with the smallest raw value
+    private static List<CountryAggregateResponse> aggregate(List<CountryResponse> countries, AggregateGroup group) {
+        Map<String, Totals> totals = new TreeMap<>();
+        for (CountryResponse country : countries) {
+            String key = group.keyOf(country);
+            if (key != null) {
+                totals.computeIfAbsent(normalize(key), k -> new Totals()).add(key, country);
+            }
+        }
+        return totals.values().stream()
+                .map(Totals::toResponse)
+                .toList();
+    }
+
+    private static final class Totals {
+        private String label;
+        private long count;
+        private long population;
+        private double gdp;
+
+        void add(String key, CountryResponse country) {
+            if (label == null || key.compareTo(label) < 0) {
+                label = key;
+            }
+            count++;
+            population += country.population() != null ? country.population() : 0L;
+            gdp += country.estimatedGdp() != null ? country.estimatedGdp() : 0.0;
+        }
+
+        CountryAggregateResponse toResponse() {
+            return new CountryAggregateResponse(label, count, population, gdp);
+        }
+    }
+
+    private static Map<CountrySort, List<CountryResponse>> sortedViews(List<CountryResponse> countries) {
+        Map<CountrySort, List<CountryResponse>> views = new EnumMap<>(CountrySort.class);
+        for (CountrySort sort : CountrySort.values()) {
+            List<CountryResponse> view = new ArrayList<>(countries);
+            view.sort(sort.getComparator());
+            views.put(sort, List.copyOf(view));
+        }
+        return Collections.unmodifiableMap(views);
+    }
+}
\ No newline at end of file
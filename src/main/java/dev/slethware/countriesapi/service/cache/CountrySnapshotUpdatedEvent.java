@@ -0,0 +1,7 @@
+package dev.slethware.countriesapi.service.cache;
+
+/**
+ * Published after a new {@link CountrySnapshot} has been installed.
+ */
+public record CountrySnapshotUpdatedEvent(CountrySnapshot snapshot) {
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.exception.BadRequestException;
+import dev.slethware.countriesapi.exception.ServiceUnavailableException;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolves {@code base=} conversions. The {@link CrossRateTable} is built with each snapshot from
+ * the rates its countries were priced with, so converted figures match the stored ones.
+ */
+@Component
+@RequiredArgsConstructor
+public class CrossRateCache {
+
+    private final SnapshotFileStore snapshotFileStore;
+
+    /**
+     * Returns a conversion into {@code base} using the rates behind {@code snapshot}, or the
+     * identity when no base is requested. The currency is resolved once here; applying the
+     * result is pure arithmetic.
+     */
+    public UnaryOperator<CountryResponse> converterTo(CountrySnapshot snapshot, String base) {
+        if (base == null) {
+            return UnaryOperator.identity();
+        }
+
+        CrossRateTable current = (snapshot != null ? snapshot.getCrossRates() : fallbackTable())
+                .orElseThrow(() -> new ServiceUnavailableException("Exchange rates not loaded yet"));
+        int ordinal = current.ordinal(base);
+        if (ordinal < 0) {
+            throw new BadRequestException("Unsupported base currency: " + base);
+        }
+        return country -> current.convert(country, ordinal);
+    }
+
+    // Database reads without a snapshot use the rates saved with the last good dataset; a table
+    // over a few hundred currencies costs far less than the query it is applied to
+    private Optional<CrossRateTable> fallbackTable() {
+        return snapshotFileStore.getLastGood()
+                .map(StoredDataset::exchangeRates)
+                .filter(rates -> !rates.isEmpty())
+                .map(CrossRateTable::of);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exchange rates from one refresh, held as primitive arrays indexed by currency ordinal.
+ * Every stored amount is in USD, so the USD row of the cross-rate matrix is all a conversion
+ * needs; converting a country is two array reads and no map lookups.
+ */
+public final class CrossRateTable {
+
+    public static final String PIVOT = "USD";
+
+    private final Map<String, Integer> ordinals;
+    // Units of each currency per USD, and its reciprocal
+    private final double[] perPivot;
+    private final double[] toPivot;
+
+    private CrossRateTable(Map<String, Integer> ordinals, double[] perPivot, double[] toPivot) {
+        this.ordinals = ordinals;
+        this.perPivot = perPivot;
+        this.toPivot = toPivot;
+    }
+
+    /**
+     * Builds the table from USD-based rates; missing or non-positive rates are left out.
+     */
+    public static CrossRateTable of(Map<String, Double> usdRates) {
+        TreeMap<String, Double> rates = new TreeMap<>();
+        usdRates.forEach((code, rate) -> {
+            if (code != null && rate != null && rate > 0) {
+                rates.put(code.toUpperCase(Locale.ROOT), rate);
+            }
+        });
+        rates.putIfAbsent(PIVOT, 1.0);
+
+        Map<String, Integer> ordinals = new HashMap<>();
+        double[] perPivot = new double[rates.size()];
+        double[] toPivot = new double[rates.size()];
+        int ordinal = 0;
+        for (Map.Entry<String, Double> rate : rates.entrySet()) {
+            ordinals.put(rate.getKey(), ordinal);
+            perPivot[ordinal] = rate.getValue();
+            toPivot[ordinal] = 1.0 / rate.getValue();
+            ordinal++;
+        }
+        return new CrossRateTable(Map.copyOf(ordinals), perPivot, toPivot);
+    }
+
+    public int size() {
+        return perPivot.length;
+    }
+
+    /**
+     * Returns the ordinal of {@code code}, or -1 when the table has no rate for it.
+     */
+    public int ordinal(String code) {
+        return code == null ? -1 : ordinals.getOrDefault(code.toUpperCase(Locale.ROOT), -1);
+    }
+
+    /**
+     * Re-expresses a stored country in {@code base}: GDP in base units and the
+     * exchange rate as units of the country's currency per unit of base.
+     */
+    public CountryResponse convert(CountryResponse country, int base) {
+        return new CountryResponse(
+                country.id(),
+                country.name(),
+                country.capital(),
+                country.region(),
+                country.population(),
+                country.currencyCode(),
+                country.exchangeRate() != null ? country.exchangeRate() * toPivot[base] : null,
+                country.estimatedGdp() != null ? country.estimatedGdp() * perPivot[base] : null,
+                country.flagUrl(),
+                country.lastRefreshedAt()
+        );
+    }
+}
\ No newline at end of file
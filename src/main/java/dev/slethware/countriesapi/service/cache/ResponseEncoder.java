@@ -0,0 +1,39 @@
+package dev.slethware.countriesapi.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import dev.slethware.countriesapi.models.response.CountryView;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serializes a country list in each {@link ResponseFormat}. The binary Jackson formats share the
+ * JSON mapper's configuration, so field names and date handling match the JSON body.
+ */
+final class ResponseEncoder {
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+
+    ResponseEncoder(ObjectMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = jsonMapper.copyWith(new CBORFactory());
+        this.smileMapper = jsonMapper.copyWith(new SmileFactory());
+    }
+
+    byte[] encode(List<CountryResponse> countries, Set<CountryField> fields, ResponseFormat format)
+            throws IOException {
+        return switch (format) {
+            case JSON -> jsonMapper.writeValueAsBytes(CountryView.of(countries, fields));
+            case CBOR -> cborMapper.writeValueAsBytes(CountryView.of(countries, fields));
+            case SMILE -> smileMapper.writeValueAsBytes(CountryView.of(countries, fields));
+            case PROTOBUF -> CountryProtobuf.encodeCountries(countries, fields);
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary layout of the snapshot file: a magic number and format version, the save time, then
+ * the countries and the rates, each prefixed with their count. Strings are UTF-8 behind an int
+ * length (-1 for null) and nullable numbers are preceded by a presence byte.
+ */
+final class SnapshotCodec {
+
+    private static final int MAGIC = 0x434E5453; // "CNTS"
+    private static final int FORMAT_VERSION = 1;
+
+    private SnapshotCodec() {
+    }
+
+    static byte[] encode(StoredDataset dataset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeTimestamp(out, dataset.savedAt());
+
+            out.writeInt(dataset.countries().size());
+            for (CountryResponse country : dataset.countries()) {
+                writeLong(out, country.id());
+                writeString(out, country.name());
+                writeString(out, country.capital());
+                writeString(out, country.region());
+                writeLong(out, country.population());
+                writeString(out, country.currencyCode());
+                writeDouble(out, country.exchangeRate());
+                writeDouble(out, country.estimatedGdp());
+                writeString(out, country.flagUrl());
+                writeTimestamp(out, country.lastRefreshedAt());
+            }
+
+            out.writeInt(dataset.exchangeRates().size());
+            for (Map.Entry<String, Double> rate : dataset.exchangeRates().entrySet()) {
+                writeString(out, rate.getKey());
+                out.writeDouble(rate.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static StoredDataset decode(ByteBuffer in) throws IOException {
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not a country snapshot, or an unsupported format version");
+            }
+            LocalDateTime savedAt = readTimestamp(in);
+
+            int countryCount = in.getInt();
+            List<CountryResponse> countries = new ArrayList<>(countryCount);
+            for (int i = 0; i < countryCount; i++) {
+                countries.add(new CountryResponse(
+                        readLong(in),
+                        readString(in),
+                        readString(in),
+                        readString(in),
+                        readLong(in),
+                        readString(in),
+                        readDouble(in),
+                        readDouble(in),
+                        readString(in),
+                        readTimestamp(in)
+                ));
+            }
+
+            int rateCount = in.getInt();
+            Map<String, Double> rates = new HashMap<>(rateCount * 2);
+            for (int i = 0; i < rateCount; i++) {
+                rates.put(readString(in), in.getDouble());
+            }
+            return new StoredDataset(savedAt, List.copyOf(countries), Map.copyOf(rates));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Truncated or corrupt country snapshot", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(ByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(ByteBuffer in) {
+        return in.get() != 0 ? in.getDouble() : null;
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer in) {
+        return in.get() != 0 ? LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC) : null;
+    }
+}
\ No newline at end of file
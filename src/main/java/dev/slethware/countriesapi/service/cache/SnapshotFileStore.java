@@ -0,0 +1,102 @@
+package dev.slethware.countriesapi.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps the last good countries and exchange rates in {@code cache/countries.snapshot}, next to
+ * the summary image. It warms the read model at startup and backs refreshes while upstream is down.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SnapshotFileStore {
+
+    private static final String CACHE_DIR = "cache";
+    private static final String SNAPSHOT_FILE = "countries.snapshot";
+
+    private volatile StoredDataset lastGood;
+    private boolean loaded;
+    private long writtenVersion;
+
+    /**
+     * Returns the last good dataset, reading the file on first use.
+     */
+    public synchronized Optional<StoredDataset> getLastGood() {
+        if (!loaded) {
+            lastGood = read().orElse(null);
+            loaded = true;
+        }
+        return Optional.ofNullable(lastGood);
+    }
+
+    @Async
+    @EventListener
+    public synchronized void onSnapshotUpdated(CountrySnapshotUpdatedEvent event) {
+        CountrySnapshot snapshot = event.snapshot();
+
+        // Writes are serialized; a snapshot older than the last written one is skipped
+        if (snapshot.getVersion() <= writtenVersion) {
+            return;
+        }
+        writtenVersion = snapshot.getVersion();
+
+        // Saved with the rates the snapshot was priced with
+        StoredDataset dataset = new StoredDataset(LocalDateTime.now(), snapshot.getCountries(),
+                snapshot.getExchangeRates());
+        lastGood = dataset;
+        loaded = true;
+        try {
+            write(dataset);
+        } catch (Exception e) {
+            log.error("Could not write country snapshot", e);
+        }
+    }
+
+    private Optional<StoredDataset> read() {
+        Path snapshotPath = Paths.get(CACHE_DIR, SNAPSHOT_FILE);
+        if (!Files.exists(snapshotPath)) {
+            return Optional.empty();
+        }
+
+        // Mapped rather than streamed: the decoder copies straight out of the page cache
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            StoredDataset dataset = SnapshotCodec.decode(buffer);
+            log.info("Loaded snapshot of {} countries and {} rates saved at {}",
+                    dataset.countries().size(), dataset.exchangeRates().size(), dataset.savedAt());
+            return Optional.of(dataset);
+        } catch (IOException e) {
+            log.warn("Could not load country snapshot from {}", snapshotPath, e);
+            return Optional.empty();
+        }
+    }
+
+    private void write(StoredDataset dataset) throws IOException {
+        byte[] bytes = SnapshotCodec.encode(dataset);
+
+        Path cacheDir = Paths.get(CACHE_DIR);
+        Files.createDirectories(cacheDir);
+        Path tempFile = Files.createTempFile(cacheDir, SNAPSHOT_FILE, ".tmp");
+        Files.write(tempFile, bytes);
+        Path outputFile = Files.move(tempFile, cacheDir.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.info("Saved snapshot of {} countries ({} bytes) to {}",
+                dataset.countries().size(), bytes.length, outputFile.toAbsolutePath());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The last good set of countries and exchange rates, as persisted to {@code cache/countries.snapshot}.
+ */
+public record StoredDataset(
+        LocalDateTime savedAt,
+        List<CountryResponse> countries,
+        Map<String, Double> exchangeRates
+) {
+}
\ No newline at end of file
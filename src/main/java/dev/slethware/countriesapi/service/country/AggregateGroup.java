@@ -0,0 +1,36 @@
+package dev.slethware.countriesapi.service.country;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+
+import java.util.function.Function;
+
+public enum AggregateGroup {
+
+    REGION("region", CountryResponse::region),
+    CURRENCY("currency", CountryResponse::currencyCode);
+
+    private final String param;
+    private final Function<CountryResponse, String> keyExtractor;
+
+    AggregateGroup(String param, Function<CountryResponse, String> keyExtractor) {
+        this.param = param;
+        this.keyExtractor = keyExtractor;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String keyOf(CountryResponse country) {
+        return keyExtractor.apply(country);
+    }
+
+    public static AggregateGroup fromParam(String by) {
+        for (AggregateGroup value : values()) {
+            if (value.param.equalsIgnoreCase(by)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package dev.slethware.countriesapi.service.country;
+
+import java.util.Map;
+
+/**
+ * Published whenever the countries table changes (refresh or delete).
+ * Listeners run after the surrounding transaction commits.
+ *
+ * @param exchangeRates the rates the written rows were priced with, or null when the change
+ *                      left prices alone (a delete)
+ */
+public record CountriesChangedEvent(Map<String, Double> exchangeRates) {
+
+    public CountriesChangedEvent() {
+        this(null);
+    }
+}
\ No newline at end of file
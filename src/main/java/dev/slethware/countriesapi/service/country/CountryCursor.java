@@ -0,0 +1,49 @@
+package dev.slethware.countriesapi.service.country;
+
+import dev.slethware.countriesapi.exception.BadRequestException;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position after the last country of a page: the sort it belongs to plus the
+ * sort key and id of that country. Encoded as an opaque base64url token.
+ */
+public record CountryCursor(CountrySort sort, long id, Double estimatedGdp, String name) {
+
+    public static CountryCursor after(CountrySort sort, CountryResponse last) {
+        return new CountryCursor(sort, last.id(), last.estimatedGdp(), last.name());
+    }
+
+    public String encode() {
+        String raw = sort.name() + ":" + id + ":" + (estimatedGdp != null ? estimatedGdp : "") + ":"
+                + (name != null ? name : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CountryCursor decode(String token, CountrySort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The name goes last so it may contain the separator itself
+            String[] parts = raw.split(":", 4);
+            CountrySort sort = CountrySort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new BadRequestException("Cursor does not match the requested sort");
+            }
+            return new CountryCursor(
+                    sort,
+                    Long.parseLong(parts[1]),
+                    parts[2].isEmpty() ? null : Double.valueOf(parts[2]),
+                    parts[3].isEmpty() ? null : parts[3]
+            );
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // A stand-in carrying only the fields the sort comparators read
+    public CountryResponse toProbe() {
+        return new CountryResponse(id, name, null, null, null, null, null, estimatedGdp, null, null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package dev.slethware.countriesapi.service.country;
+
+import dev.slethware.countriesapi.models.dto.CountryApiResponse;
+import dev.slethware.countriesapi.models.dto.CurrencyDto;
+import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+
+import java.util.List;
+
+public final class CountryMapper {
+
+    private CountryMapper() {
+    }
+
+    public static CountryResponse toResponse(Country country) {
+        return new CountryResponse(
+                country.getId(),
+                country.getName(),
+                country.getCapital(),
+                country.getRegion(),
+                country.getPopulation(),
+                country.getCurrencyCode(),
+                country.getExchangeRate(),
+                country.getEstimatedGdp(),
+                country.getFlagUrl(),
+                country.getLastRefreshedAt()
+        );
+    }
+
+    // Rebuilds the upstream shape from a stored country, for refreshes served from the on-disk snapshot
+    public static CountryApiResponse toApiResponse(CountryResponse country) {
+        return new CountryApiResponse(
+                country.name(),
+                country.capital(),
+                country.region(),
+                country.population(),
+                country.currencyCode() != null ? List.of(new CurrencyDto(country.currencyCode(), null, null)) : List.of(),
+                country.flagUrl()
+        );
+    }
+
+    public static List<CountryResponse> toResponseList(List<Country> countries) {
+        return countries.stream()
+                .map(CountryMapper::toResponse)
+                .toList();
+    }
+}
\ No newline at end of file
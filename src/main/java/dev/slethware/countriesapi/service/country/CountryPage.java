@@ -0,0 +1,17 @@
+package dev.slethware.countriesapi.service.country;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * One page of countries; {@code nextCursor} is null on the last page.
+ */
+public record CountryPage(List<CountryResponse> countries, String nextCursor) {
+
+    // The cursor always refers to the stored (USD) values, so it is carried over unchanged
+    public CountryPage map(UnaryOperator<CountryResponse> mapper) {
+        return new CountryPage(countries.stream().map(mapper).toList(), nextCursor);
+    }
+}
\ No newline at end of file
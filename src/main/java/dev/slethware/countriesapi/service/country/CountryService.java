@@ -1,14 +1,39 @@
 package dev.slethware.countriesapi.service.country;
 
+import dev.slethware.countriesapi.models.response.CountryAggregateResponse;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryLookupResponse;
 import dev.slethware.countriesapi.models.response.CountryResponse;
 import dev.slethware.countriesapi.models.response.StatusResponse;
+import dev.slethware.countriesapi.service.cache.CountrySnapshot;
 
 import java.util.List;
+import java.util.Set;
 
 public interface CountryService {
-    List<CountryResponse> getAllCountries(String region, String currency, String sort);
-    CountryResponse getCountryByName(String name);
-    String refreshCountries();
+    List<CountryResponse> getAllCountries(String region, String currency, String sort, String base,
+                                          Set<CountryField> fields);
+    CountryPage getCountriesPage(String region, String currency, String sort, String cursor, int limit, String base,
+                                 Set<CountryField> fields);
+    CountryResponse getCountryByName(String name, String base, Set<CountryField> fields);
+    CountryLookupResponse lookupCountries(List<String> names, String base);
+    List<CountryResponse> getTopCountries(int n, String by, String region, Set<CountryField> fields);
+    List<CountryResponse> searchCountries(String query, int limit);
+    String refreshCountries(RefreshProgress progress);
+    String refreshExchangeRates(RefreshProgress progress);
     StatusResponse getStatus();
+    List<CountryAggregateResponse> getAggregates(String by);
     void deleteCountry(String name);
+
+    // Same reads against a snapshot the caller already resolved; null goes to the database. Lets a caller that
+    // chose a thread by whether a snapshot exists get exactly the path it chose for
+    List<CountryResponse> getAllCountries(CountrySnapshot snapshot, String region, String currency, String sort,
+                                          String base, Set<CountryField> fields);
+    CountryPage getCountriesPage(CountrySnapshot snapshot, String region, String currency, String sort, String cursor,
+                                 int limit, String base, Set<CountryField> fields);
+    CountryResponse getCountryByName(CountrySnapshot snapshot, String name, String base, Set<CountryField> fields);
+    CountryLookupResponse lookupCountries(CountrySnapshot snapshot, List<String> names, String base);
+    List<CountryResponse> getTopCountries(CountrySnapshot snapshot, int n, String by, String region,
+                                          Set<CountryField> fields);
+    List<CountryAggregateResponse> getAggregates(CountrySnapshot snapshot, String by);
 }
\ No newline at end of file
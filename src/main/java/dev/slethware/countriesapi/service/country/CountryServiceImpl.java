@@ -1,130 +1,435 @@
 package dev.slethware.countriesapi.service.country;
 
+import dev.slethware.countriesapi.exception.BadRequestException;
+import dev.slethware.countriesapi.exception.InternalServerException;
+import dev.slethware.countriesapi.exception.ServiceUnavailableException;
 import dev.slethware.countriesapi.exception.ResourceNotFoundException;
 import dev.slethware.countriesapi.models.dto.CountryApiResponse;
 import dev.slethware.countriesapi.models.dto.CurrencyDto;
 import dev.slethware.countriesapi.models.dto.ExchangeRateApiResponse;
 import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryAggregateResponse;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryLookupResponse;
 import dev.slethware.countriesapi.models.response.CountryResponse;
 import dev.slethware.countriesapi.models.response.StatusResponse;
 import dev.slethware.countriesapi.repository.CountryRepository;
+import dev.slethware.countriesapi.service.cache.CountryCache;
+import dev.slethware.countriesapi.service.cache.CountrySnapshot;
+import dev.slethware.countriesapi.service.cache.CrossRateCache;
+import dev.slethware.countriesapi.service.cache.SnapshotFileStore;
+import dev.slethware.countriesapi.service.cache.StoredDataset;
+import dev.slethware.countriesapi.service.http.FetchResult;
 import dev.slethware.countriesapi.service.http.HttpClientService;
-import dev.slethware.countriesapi.service.image.ImageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CountryServiceImpl implements CountryService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_LOOKUP_NAMES = 100;
+
     private final CountryRepository countryRepository;
     private final HttpClientService httpClientService;
-    private final ImageService imageService;
+    private final CountryCache countryCache;
+    private final CrossRateCache crossRateCache;
+    private final SnapshotFileStore snapshotFileStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
     private final Random random = new Random();
 
     @Override
-    public List<CountryResponse> getAllCountries(String region, String currency, String sort) {
-        log.info("Fetching countries with filters - region: {}, currency: {}, sort: {}",
-                region, currency, sort);
+    public List<CountryResponse> getAllCountries(String region, String currency, String sort, String base,
+                                                 Set<CountryField> fields) {
+        return getAllCountries(countryCache.getSnapshot().orElse(null), region, currency, sort, base, fields);
+    }
 
-        List<Country> countries = countryRepository.findCountriesWithFiltersAndSorting(
-                region, currency, sort
-        );
+    @Override
+    public List<CountryResponse> getAllCountries(CountrySnapshot current, String region, String currency, String sort,
+                                                 String base, Set<CountryField> fields) {
+        log.info("Fetching countries with filters - region: {}, currency: {}, sort: {}, base: {}",
+                region, currency, sort, base);
+
+        Optional<CountrySnapshot> snapshot = Optional.ofNullable(current);
+        UnaryOperator<CountryResponse> toBase = crossRateCache.converterTo(snapshot.orElse(null), base);
+
+        List<CountryResponse> countries;
+        if (snapshot.isPresent()) {
+            countries = snapshot.get().find(region, currency, CountrySort.fromParam(sort));
+        } else if (fields != null) {
+            countries = countryRepository.findProjected(
+                    CountrySpecifications.hasRegionKey(Country.normalizeKey(region))
+                            .and(CountrySpecifications.hasCurrencyKey(Country.normalizeKey(currency))),
+                    CountrySort.fromParam(sort).getSort(), fields, 0);
+        } else {
+            countries = CountryMapper.toResponseList(countryRepository.findCountriesWithFiltersAndSorting(
+                    Country.normalizeKey(region), Country.normalizeKey(currency), CountrySort.fromParam(sort).getSort()));
+        }
 
         log.info("Found {} countries matching the filters", countries.size());
 
-        return toResponseList(countries);
+        return base != null ? countries.stream().map(toBase).toList() : countries;
+    }
+
+    @Override
+    public CountryPage getCountriesPage(String region, String currency, String sort, String cursor, int limit,
+                                        String base, Set<CountryField> fields) {
+        return getCountriesPage(countryCache.getSnapshot().orElse(null), region, currency, sort, cursor, limit, base,
+                fields);
     }
 
     @Override
-    public CountryResponse getCountryByName(String name) {
-        log.info("Fetching country by name: {}", name);
+    public CountryPage getCountriesPage(CountrySnapshot current, String region, String currency, String sort,
+                                        String cursor, int limit, String base, Set<CountryField> fields) {
+        log.info("Fetching countries page with filters - region: {}, currency: {}, sort: {}, limit: {}, base: {}",
+                region, currency, sort, limit, base);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Optional<CountrySnapshot> snapshot = Optional.ofNullable(current);
+        UnaryOperator<CountryResponse> toBase = crossRateCache.converterTo(snapshot.orElse(null), base);
+
+        CountrySort countrySort = CountrySort.fromParam(sort);
+        CountryCursor after = cursor != null ? CountryCursor.decode(cursor, countrySort) : null;
+
+        if (snapshot.isPresent()) {
+            return snapshot.get().page(region, currency, countrySort, after, limit).map(toBase);
+        }
+
+        // Keyset query on the database; one extra row tells whether another page follows
+        Specification<Country> filter = CountrySpecifications.hasRegionKey(Country.normalizeKey(region))
+                .and(CountrySpecifications.hasCurrencyKey(Country.normalizeKey(currency)))
+                .and(CountrySpecifications.after(after));
+        List<CountryResponse> rows = fields != null
+                ? countryRepository.findProjected(filter, countrySort.getSort(), withCursorKeys(fields), limit + 1)
+                : CountryMapper.toResponseList(countryRepository.findBy(filter,
+                        query -> query.sortBy(countrySort.getSort()).limit(limit + 1).all()));
+
+        if (rows.size() <= limit) {
+            return new CountryPage(rows, null).map(toBase);
+        }
+        List<CountryResponse> countries = rows.subList(0, limit);
+        return new CountryPage(countries, CountryCursor.after(countrySort, countries.get(limit - 1)).encode())
+                .map(toBase);
+    }
 
-        Country country = countryRepository.findByNameIgnoreCase(name).orElseThrow(() -> {
+    @Override
+    public CountryResponse getCountryByName(String name, String base, Set<CountryField> fields) {
+        return getCountryByName(countryCache.getSnapshot().orElse(null), name, base, fields);
+    }
+
+    @Override
+    public CountryResponse getCountryByName(CountrySnapshot current, String name, String base,
+                                            Set<CountryField> fields) {
+        log.info("Fetching country by name: {}, base: {}", name, base);
+
+        Optional<CountrySnapshot> snapshot = Optional.ofNullable(current);
+        UnaryOperator<CountryResponse> toBase = crossRateCache.converterTo(snapshot.orElse(null), base);
+
+        Optional<CountryResponse> match;
+        if (snapshot.isPresent()) {
+            match = snapshot.get().findByName(name);
+        } else if (fields != null) {
+            match = countryRepository.findProjected(CountrySpecifications.hasNameKey(Country.normalizeKey(name)),
+                    Sort.unsorted(), fields, 1).stream().findFirst();
+        } else {
+            match = countryRepository.findByNameKey(Country.normalizeKey(name)).map(CountryMapper::toResponse);
+        }
+
+        CountryResponse country = match.orElseThrow(() -> {
             log.error("Country not found: {}", name);
             return new ResourceNotFoundException("Country not found: " + name);
         });
 
-        log.info("Successfully found country: {}", country.getName());
+        log.info("Successfully found country: {}", name);
+
+        return toBase.apply(country);
+    }
+
+    @Override
+    public CountryLookupResponse lookupCountries(List<String> names, String base) {
+        return lookupCountries(countryCache.getSnapshot().orElse(null), names, base);
+    }
+
+    @Override
+    public CountryLookupResponse lookupCountries(CountrySnapshot current, List<String> names, String base) {
+        if (names == null || names.isEmpty() || names.size() > MAX_LOOKUP_NAMES) {
+            throw new BadRequestException("names must contain between 1 and " + MAX_LOOKUP_NAMES + " entries");
+        }
+        if (names.stream().anyMatch(name -> name == null || name.isBlank())) {
+            throw new BadRequestException("names must not contain blank entries");
+        }
+        log.info("Looking up {} countries", names.size());
+
+        Optional<CountrySnapshot> snapshot = Optional.ofNullable(current);
+        UnaryOperator<CountryResponse> toBase = crossRateCache.converterTo(snapshot.orElse(null), base);
+
+        // One entry per normalized name, in request order
+        Map<String, String> requested = new LinkedHashMap<>();
+        for (String name : names) {
+            requested.putIfAbsent(Country.normalizeKey(name), name);
+        }
+
+        // Index probes on the snapshot, or a single IN query on the name_key index
+        Map<String, CountryResponse> found = new HashMap<>();
+        if (snapshot.isPresent()) {
+            requested.keySet().forEach(key -> snapshot.get().findByName(key).ifPresent(country -> found.put(key, country)));
+        } else {
+            countryRepository.findByNameKeyIn(requested.keySet())
+                    .forEach(country -> found.put(country.getNameKey(), CountryMapper.toResponse(country)));
+        }
+
+        List<CountryResponse> countries = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        requested.forEach((key, name) -> {
+            CountryResponse country = found.get(key);
+            if (country != null) {
+                countries.add(toBase.apply(country));
+            } else {
+                missing.add(name);
+            }
+        });
+
+        log.info("Found {} of {} requested countries", countries.size(), requested.size());
+
+        return new CountryLookupResponse(countries, missing);
+    }
 
-        return toResponse(country);
+    @Override
+    public List<CountryResponse> getTopCountries(int n, String by, String region, Set<CountryField> fields) {
+        return getTopCountries(countryCache.getSnapshot().orElse(null), n, by, region, fields);
+    }
+
+    @Override
+    public List<CountryResponse> getTopCountries(CountrySnapshot current, int n, String by, String region,
+                                                 Set<CountryField> fields) {
+        log.info("Fetching top {} countries by {}, region: {}", n, by, region);
+
+        TopMetric metric = TopMetric.fromParam(by);
+        if (metric == null) {
+            throw new BadRequestException("Unsupported ranking: " + by);
+        }
+        if (n < 1 || n > CountrySnapshot.MAX_TOP_N) {
+            throw new BadRequestException("n must be between 1 and " + CountrySnapshot.MAX_TOP_N);
+        }
+
+        Optional<CountrySnapshot> snapshot = Optional.ofNullable(current);
+        if (snapshot.isPresent()) {
+            return snapshot.get().top(metric, n, region);
+        }
+
+        if (fields != null) {
+            return countryRepository.findProjected(CountrySpecifications.hasRegionKey(Country.normalizeKey(region)),
+                    metric.getSort(), fields, n);
+        }
+        List<Country> countries = metric == TopMetric.GDP
+                ? countryRepository.findTopByEstimatedGdp(Country.normalizeKey(region), Limit.of(n))
+                : countryRepository.findTopByPopulation(Country.normalizeKey(region), Limit.of(n));
+        return CountryMapper.toResponseList(countries);
+    }
+
+    @Override
+    public List<CountryResponse> searchCountries(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("q is required");
+        }
+        if (limit < 1 || limit > CountrySnapshot.MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("limit must be between 1 and " + CountrySnapshot.MAX_SEARCH_RESULTS);
+        }
+
+        // Served only from the snapshot's index; the database has no efficient substring or typo lookup
+        return countryCache.getSnapshot()
+                .orElseThrow(() -> new ServiceUnavailableException("Search index not loaded yet"))
+                .search(query, limit);
     }
 
     @Override
     @Transactional
-    public String refreshCountries() {
+    public String refreshCountries(RefreshProgress progress) {
         log.info("Starting country refresh process");
+        resetValidatorsUnlessCommitted();
 
+        Timer.Sample refreshSample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            // Fetch data from external APIs
-            CountryApiResponse[] countryResponses = httpClientService.fetchAllCountries();
-            ExchangeRateApiResponse exchangeRateResponse = httpClientService.fetchExchangeRates();
-            Map<String, Double> exchangeRates = exchangeRateResponse.getRates();
-
-            log.info("Processing {} countries", countryResponses.length);
-
-            int updatedCount = 0;
-            int insertedCount = 0;
-
-            // Process each country
-            for (CountryApiResponse countryResponse : countryResponses) {
-                try {
-                    Country country = processCountry(countryResponse, exchangeRates);
-
-                    Optional<Country> existingCountry = countryRepository.findByNameIgnoreCase(country.getName());
-
-                    if (existingCountry.isPresent()) {
-                        // Update existing country
-                        Country existing = existingCountry.get();
-                        updateCountryFields(existing, country);
-                        countryRepository.save(existing);
-                        updatedCount++;
-                        log.debug("Updated country: {}", existing.getName());
-                    } else {
-                        // Insert new country
-                        countryRepository.save(country);
-                        insertedCount++;
-                        log.debug("Inserted new country: {}", country.getName());
+            // Both sources are fetched concurrently, conditionally where they allow it. Countries are
+            // processed as they are parsed off the wire; the consumer waits for the rates before the first one
+            progress.phase(RefreshPhase.FETCHING_COUNTRIES);
+            FetchResult<ExchangeRateApiResponse> exchangeRateResult;
+            FetchResult<Integer> countryResult;
+            Map<String, Country> existingRows;
+            Map<String, Country> processedCountries = new LinkedHashMap<>();
+            Timer processTimer = meterRegistry.timer("countries.refresh.process");
+
+            try (ExecutorService fetches = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<FetchResult<ExchangeRateApiResponse>> rates = fetches.submit(this::fetchExchangeRatesOrSnapshot);
+                Consumer<CountryApiResponse> consumer = countryResponse -> {
+                    // A failed rates fetch aborts the countries stream here rather than failing every country
+                    Map<String, Double> exchangeRates = await(rates).body().getRates();
+                    try {
+                        if (countryResponse.getName() == null || countryResponse.getName().isBlank()) {
+                            log.warn("Skipping country without a name");
+                            return;
+                        }
+
+                        Country country = processTimer.record(() -> processCountry(countryResponse, exchangeRates));
+                        processedCountries.put(Country.normalizeKey(country.getName()), country);
+                        progress.countryProcessed();
+                    } catch (Exception e) {
+                        log.error("Error processing country: {}", countryResponse.getName(), e);
+                        meterRegistry.counter("countries.refresh.rows", "result", "failed").increment();
+                        progress.countryFailed();
                     }
-                } catch (Exception e) {
-                    log.error("Error processing country: {}", countryResponse.getName(), e);
+                };
+                Future<FetchResult<Integer>> countries = fetches.submit(() -> fetchAllCountriesOrSnapshot(true, consumer));
+
+                // Resolve existing rows once instead of one lookup per country, while the fetches run
+                existingRows = countryRepository.loadRowsByNameKey();
+                exchangeRateResult = await(rates);
+                countryResult = await(countries);
+
+                // New rates change every country's GDP. A 304 streamed nothing, so the countries are fetched
+                // again unconditionally; a byte-identical body was already processed with the new rates
+                if (!countryResult.modified() && exchangeRateResult.modified() && processedCountries.isEmpty()) {
+                    countryResult = fetchAllCountriesOrSnapshot(false, consumer);
                 }
             }
 
-            log.info("Refresh completed. Inserted: {}, Updated: {}", insertedCount, updatedCount);
-
-            // Generate summary image after refresh
-            try {
-                long totalCountries = countryRepository.count();
-                List<Country> topCountries = countryRepository.findTop5ByEstimatedGdpDesc()
-                        .stream()
-                        .limit(5)
-                        .collect(Collectors.toList());
-
-                LocalDateTime lastRefreshedAt = countryRepository.findMaxLastRefreshedAt();
-
-                imageService.generateSummaryImage(topCountries, totalCountries, lastRefreshedAt);
-                log.info("Summary image generated successfully");
-            } catch (Exception e) {
-                log.error("Error generating summary image", e);
+            if (!countryResult.modified() && !exchangeRateResult.modified()) {
+                log.info("Upstream data unchanged, skipping country processing");
+                progress.phase(RefreshPhase.WRITING);
+                markRefreshed(existingRows.values().stream().map(Country::getId).toList(),
+                        exchangeRateResult.body().getRates());
+                outcome = "unchanged";
+                return "Countries are already up to date. Inserted: 0, Updated: 0";
             }
 
+            log.info("Processed {} countries", processedCountries.size());
+
+            // Split into inserts and updates, skipping rows whose content is unchanged,
+            // then write both as JDBC batches
+            List<Country> inserts = new ArrayList<>();
+            List<Country> updates = new ArrayList<>();
+            List<Long> unchangedIds = new ArrayList<>();
+
+            processedCountries.forEach((key, country) -> {
+                Country existing = existingRows.get(key);
+                if (existing == null) {
+                    inserts.add(country);
+                } else if (!country.computeContentHash().equals(existing.getContentHash())) {
+                    country.setId(existing.getId());
+                    updates.add(country);
+                } else {
+                    unchangedIds.add(existing.getId());
+                }
+            });
+            int unchangedCount = unchangedIds.size();
+
+            progress.phase(RefreshPhase.WRITING);
+            int updatedCount = meterRegistry.timer("countries.refresh.db.write", "operation", "update")
+                    .record(() -> countryRepository.batchUpdate(updates));
+            int insertedCount = meterRegistry.timer("countries.refresh.db.write", "operation", "insert")
+                    .record(() -> countryRepository.batchInsert(inserts));
+            markRefreshed(unchangedIds, exchangeRateResult.body().getRates());
+
+            meterRegistry.counter("countries.refresh.rows", "result", "updated").increment(updatedCount);
+            meterRegistry.counter("countries.refresh.rows", "result", "inserted").increment(insertedCount);
+            meterRegistry.counter("countries.refresh.rows", "result", "unchanged").increment(unchangedCount);
+            progress.rowsWritten(insertedCount, updatedCount, unchangedCount);
+            log.info("Refresh completed. Inserted: {}, Updated: {}, Unchanged: {}",
+                    insertedCount, updatedCount, unchangedCount);
+
+            outcome = "success";
             return String.format("Successfully refreshed countries. Inserted: %d, Updated: %d",
                     insertedCount, updatedCount);
 
         } catch (Exception e) {
             log.error("Error during country refresh", e);
             throw e;
+        } finally {
+            refreshSample.stop(meterRegistry.timer("countries.refresh", "outcome", outcome));
+        }
+    }
+
+    @Override
+    @Transactional
+    public String refreshExchangeRates(RefreshProgress progress) {
+        log.info("Starting exchange rate refresh");
+        resetValidatorsUnlessCommitted();
+
+        Timer.Sample refreshSample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            progress.phase(RefreshPhase.FETCHING_RATES);
+            FetchResult<ExchangeRateApiResponse> exchangeRateResult = httpClientService.fetchExchangeRates();
+            if (!exchangeRateResult.modified()) {
+                log.info("Exchange rates unchanged, skipping GDP recomputation");
+                outcome = "unchanged";
+                return "Exchange rates are already up to date. Updated: 0";
+            }
+
+            Map<String, Double> exchangeRates = exchangeRateResult.body().getRates();
+            LocalDateTime now = LocalDateTime.now();
+
+            // Only countries whose rate actually moved get a new GDP; everything else is left alone
+            List<Country> updates = new ArrayList<>();
+            for (Country country : countryRepository.loadRowsByNameKey().values()) {
+                if (country.getCurrencyCode() == null) {
+                    continue;
+                }
+                Double exchangeRate = exchangeRates.get(country.getCurrencyCode());
+                if (Objects.equals(exchangeRate, country.getExchangeRate())) {
+                    continue;
+                }
+                country.setExchangeRate(exchangeRate);
+                country.setEstimatedGdp(calculateEstimatedGdp(country.getPopulation(), exchangeRate));
+                country.setLastRefreshedAt(now);
+                updates.add(country);
+            }
+
+            progress.phase(RefreshPhase.WRITING);
+            int updatedCount = meterRegistry.timer("countries.refresh.db.write", "operation", "update_rates")
+                    .record(() -> countryRepository.batchUpdateRates(updates));
+            progress.rowsWritten(0, updatedCount, 0);
+
+            meterRegistry.counter("countries.refresh.rows", "result", "updated").increment(updatedCount);
+            log.info("Exchange rate refresh completed. Updated: {}", updatedCount);
+
+            if (updatedCount > 0) {
+                eventPublisher.publishEvent(new CountriesChangedEvent(exchangeRates));
+            }
+
+            outcome = "success";
+            return String.format("Successfully refreshed exchange rates. Updated: %d", updatedCount);
+
+        } catch (Exception e) {
+            log.error("Error during exchange rate refresh", e);
+            throw e;
+        } finally {
+            refreshSample.stop(meterRegistry.timer("countries.refresh.rates", "outcome", outcome));
         }
     }
 
@@ -132,30 +437,129 @@ public class CountryServiceImpl implements CountryService {
     public StatusResponse getStatus() {
         log.info("Fetching system status");
 
-        long totalCountries = countryRepository.count();
-        LocalDateTime lastRefreshedAt = countryRepository.findMaxLastRefreshedAt();
+        // Both figures are kept on the snapshot; the database is only asked when there is none
+        Optional<CountrySnapshot> snapshot = countryCache.getSnapshot();
+        long totalCountries = snapshot.isPresent() ? snapshot.get().size() : countryRepository.count();
+        LocalDateTime lastRefreshedAt = snapshot.isPresent()
+                ? snapshot.get().getLastRefreshedAt()
+                : countryRepository.findMaxLastRefreshedAt();
 
         log.info("Total countries: {}, Last refreshed: {}", totalCountries, lastRefreshedAt);
 
         return new StatusResponse(totalCountries, lastRefreshedAt);
     }
 
+    @Override
+    public List<CountryAggregateResponse> getAggregates(String by) {
+        return getAggregates(countryCache.getSnapshot().orElse(null), by);
+    }
+
+    @Override
+    public List<CountryAggregateResponse> getAggregates(CountrySnapshot current, String by) {
+        log.info("Fetching country aggregates by {}", by);
+
+        AggregateGroup group = AggregateGroup.fromParam(by);
+        if (group == null) {
+            throw new BadRequestException("Unsupported grouping: " + by);
+        }
+
+        Optional<CountrySnapshot> snapshot = Optional.ofNullable(current);
+        if (snapshot.isPresent()) {
+            return snapshot.get().aggregates(group);
+        }
+        return group == AggregateGroup.REGION
+                ? countryRepository.aggregateByRegion()
+                : countryRepository.aggregateByCurrency();
+    }
+
     @Override
     @Transactional
     public void deleteCountry(String name) {
         log.info("Deleting country: {}", name);
 
-        Country country = countryRepository.findByNameIgnoreCase(name)
+        Country country = countryRepository.findByNameKey(Country.normalizeKey(name))
                 .orElseThrow(() -> {
                     log.error("Country not found for deletion: {}", name);
                     return new ResourceNotFoundException("Country not found: " + name);
                 });
 
         countryRepository.delete(country);
+        eventPublisher.publishEvent(new CountriesChangedEvent());
         log.info("Successfully deleted country: {}", name);
     }
 
-    private Country processCountry(CountryApiResponse response, Map<String, Double> exchangeRates) {
+    // Unchanged rows keep their data but record that this refresh saw them; the snapshot (and, from it,
+    // the summary image) is rebuilt once the transaction commits, so last_refreshed_at and /status move too
+    private void markRefreshed(List<Long> unchangedIds, Map<String, Double> exchangeRates) {
+        meterRegistry.timer("countries.refresh.db.write", "operation", "mark_refreshed")
+                .record(() -> countryRepository.markRefreshed(unchangedIds, LocalDateTime.now()));
+        eventPublisher.publishEvent(new CountriesChangedEvent(exchangeRates));
+    }
+
+    // Upstream being down should not stop a refresh when the last good rates are on disk
+    private FetchResult<ExchangeRateApiResponse> fetchExchangeRatesOrSnapshot() {
+        try {
+            return httpClientService.fetchExchangeRates();
+        } catch (ServiceUnavailableException e) {
+            StoredDataset dataset = snapshotFileStore.getLastGood()
+                    .filter(stored -> !stored.exchangeRates().isEmpty())
+                    .orElseThrow(() -> e);
+            log.warn("Exchange rate API unavailable, using rates from the snapshot saved at {}", dataset.savedAt());
+            meterRegistry.counter("countries.refresh.snapshot.fallback", "source", "exchange_rates").increment();
+            return FetchResult.modified(new ExchangeRateApiResponse("success", null, dataset.exchangeRates()));
+        }
+    }
+
+    // Same for countries: the saved dataset is replayed through the consumer as if it came from upstream
+    private FetchResult<Integer> fetchAllCountriesOrSnapshot(boolean conditional, Consumer<CountryApiResponse> consumer) {
+        try {
+            return httpClientService.fetchAllCountries(conditional, consumer);
+        } catch (ServiceUnavailableException e) {
+            StoredDataset dataset = snapshotFileStore.getLastGood()
+                    .filter(stored -> !stored.countries().isEmpty())
+                    .orElseThrow(() -> e);
+            log.warn("Countries API unavailable, using countries from the snapshot saved at {}", dataset.savedAt());
+            meterRegistry.counter("countries.refresh.snapshot.fallback", "source", "countries").increment();
+            dataset.countries().forEach(country -> consumer.accept(CountryMapper.toApiResponse(country)));
+            return FetchResult.modified(dataset.countries().size());
+        }
+    }
+
+    // Upstream failures surface as their own exceptions, as if the fetch had run on this thread
+    private static <T> T await(Future<T> fetch) {
+        try {
+            return fetch.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new InternalServerException("Upstream fetch failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerException("Interrupted while fetching upstream data", e);
+        }
+    }
+
+    // Stored upstream validators are only valid if the current refresh actually commits
+    private void resetValidatorsUnlessCommitted() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    httpClientService.resetValidators();
+                }
+            }
+        });
+    }
+
+    // Keyset cursors are built from the id, GDP and name of the last row, so projections always carry them
+    private static Set<CountryField> withCursorKeys(Set<CountryField> fields) {
+        EnumSet<CountryField> selected = EnumSet.copyOf(fields);
+        selected.addAll(EnumSet.of(CountryField.ID, CountryField.ESTIMATED_GDP, CountryField.NAME));
+        return selected;
+    }
+
+    Country processCountry(CountryApiResponse response, Map<String, Double> exchangeRates) {
         Country country = new Country();
 
         // Set basic fields
@@ -199,7 +603,7 @@ public class CountryServiceImpl implements CountryService {
         return firstCurrency.getCode();
     }
 
-    private Double calculateEstimatedGdp(Long population, Double exchangeRate) {
+    Double calculateEstimatedGdp(Long population, Double exchangeRate) {
         // If exchange rate is null (currency not found in rates), return null
         if (exchangeRate == null) {
             return null;
@@ -221,38 +625,4 @@ public class CountryServiceImpl implements CountryService {
         // Calculate: population × random(1000–2000) ÷ exchange_rate
         return (population * randomMultiplier) / exchangeRate;
     }
-
-    private void updateCountryFields(Country existing, Country updated) {
-        existing.setName(updated.getName());
-        existing.setCapital(updated.getCapital());
-        existing.setRegion(updated.getRegion());
-        existing.setPopulation(updated.getPopulation());
-        existing.setCurrencyCode(updated.getCurrencyCode());
-        existing.setExchangeRate(updated.getExchangeRate());
-        existing.setEstimatedGdp(updated.getEstimatedGdp()); // New random multiplier
-        existing.setFlagUrl(updated.getFlagUrl());
-        existing.setLastRefreshedAt(updated.getLastRefreshedAt());
-    }
-
-    // Mapper methods
-    private CountryResponse toResponse(Country country) {
-        return new CountryResponse(
-                country.getId(),
-                country.getName(),
-                country.getCapital(),
-                country.getRegion(),
-                country.getPopulation(),
-                country.getCurrencyCode(),
-                country.getExchangeRate(),
-                country.getEstimatedGdp(),
-                country.getFlagUrl(),
-                country.getLastRefreshedAt()
-        );
-    }
-
-    private List<CountryResponse> toResponseList(List<Country> countries) {
-        return countries.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-    }
 }
\ No newline at end of file
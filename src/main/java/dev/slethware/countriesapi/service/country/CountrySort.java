@@ -0,0 +1,56 @@
+package dev.slethware.countriesapi.service.country;
+
+import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+
+public enum CountrySort {
+
+    // Null GDPs sort the way MySQL orders them: first when ascending, last when descending
+    GDP_DESC("gdp_desc", Sort.Order.desc("estimatedGdp"), Comparator.comparing(CountryResponse::estimatedGdp,
+            Comparator.nullsLast(Comparator.<Double>reverseOrder()))),
+    GDP_ASC("gdp_asc", Sort.Order.asc("estimatedGdp"), Comparator.comparing(CountryResponse::estimatedGdp,
+            Comparator.nullsFirst(Comparator.<Double>naturalOrder()))),
+    // Names compare by the same folded key the database orders name_sort_key by
+    NAME_ASC("name_asc", Sort.Order.asc("nameSortKey"), Comparator.comparing(
+            (CountryResponse country) -> Country.sortKey(country.name()), Comparator.nullsFirst(Comparator.naturalOrder()))),
+    NAME_DESC("name_desc", Sort.Order.desc("nameSortKey"), Comparator.comparing(
+            (CountryResponse country) -> Country.sortKey(country.name()), Comparator.nullsLast(Comparator.reverseOrder()))),
+    DEFAULT(null, null, (a, b) -> 0);
+
+    private final String param;
+    private final Sort sort;
+    private final Comparator<CountryResponse> comparator;
+
+    CountrySort(String param, Sort.Order column, Comparator<CountryResponse> order) {
+        this.param = param;
+        // Repository ordering mirrors the comparator, with the same id tie-break
+        this.sort = column != null ? Sort.by(column, Sort.Order.asc("id")) : Sort.by(Sort.Order.asc("id"));
+        // Ties are always broken by id so every view has a stable, total order
+        this.comparator = order.thenComparing(CountryResponse::id);
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public Comparator<CountryResponse> getComparator() {
+        return comparator;
+    }
+
+    public static CountrySort fromParam(String sort) {
+        for (CountrySort value : values()) {
+            if (value.param != null && value.param.equals(sort)) {
+                return value;
+            }
+        }
+        // Unknown values fall back to id order, same as the original query
+        return DEFAULT;
+    }
+}
\ No newline at end of file
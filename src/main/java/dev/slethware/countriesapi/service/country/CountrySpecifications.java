@@ -0,0 +1,63 @@
+package dev.slethware.countriesapi.service.country;
+
+import dev.slethware.countriesapi.models.entity.Country;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Query predicates for the database read path. Filters compare against the indexed
+ * *_key columns; the keyset predicate mirrors each {@link CountrySort} ordering
+ * (MySQL places NULL GDPs first ascending and last descending, ties go to id ascending).
+ */
+public final class CountrySpecifications {
+
+    private CountrySpecifications() {
+    }
+
+    public static Specification<Country> hasNameKey(String nameKey) {
+        return (root, query, cb) -> cb.equal(root.get("nameKey"), nameKey);
+    }
+
+    public static Specification<Country> hasRegionKey(String regionKey) {
+        return (root, query, cb) -> regionKey == null ? null : cb.equal(root.get("regionKey"), regionKey);
+    }
+
+    public static Specification<Country> hasCurrencyKey(String currencyKey) {
+        return (root, query, cb) -> currencyKey == null ? null : cb.equal(root.get("currencyKey"), currencyKey);
+    }
+
+    public static Specification<Country> after(CountryCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+
+            Path<Long> id = root.get("id");
+            Path<Double> gdp = root.get("estimatedGdp");
+            Path<String> nameSortKey = root.get("nameSortKey");
+            Predicate laterId = cb.greaterThan(id, cursor.id());
+            Double lastGdp = cursor.estimatedGdp();
+            String lastNameSortKey = Country.sortKey(cursor.name());
+
+            return switch (cursor.sort()) {
+                case GDP_DESC -> lastGdp == null
+                        ? cb.and(cb.isNull(gdp), laterId)
+                        : cb.or(cb.lessThan(gdp, lastGdp), tie(cb, cb.equal(gdp, lastGdp), laterId), cb.isNull(gdp));
+                case GDP_ASC -> lastGdp == null
+                        ? cb.or(cb.and(cb.isNull(gdp), laterId), cb.isNotNull(gdp))
+                        : cb.or(cb.greaterThan(gdp, lastGdp), tie(cb, cb.equal(gdp, lastGdp), laterId));
+                case NAME_ASC -> cb.or(cb.greaterThan(nameSortKey, lastNameSortKey),
+                        tie(cb, cb.equal(nameSortKey, lastNameSortKey), laterId));
+                case NAME_DESC -> cb.or(cb.lessThan(nameSortKey, lastNameSortKey),
+                        tie(cb, cb.equal(nameSortKey, lastNameSortKey), laterId));
+                case DEFAULT -> laterId;
+            };
+        };
+    }
+
+    private static Predicate tie(CriteriaBuilder cb, Predicate sameKey, Predicate laterId) {
+        return cb.and(sameKey, laterId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package dev.slethware.countriesapi.service.country;
+
+public enum RefreshPhase {
+    QUEUED,
+    FETCHING_RATES,
+    FETCHING_COUNTRIES,
+    WRITING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
\ No newline at end of file
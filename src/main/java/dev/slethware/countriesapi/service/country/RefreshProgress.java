@@ -0,0 +1,23 @@
+package dev.slethware.countriesapi.service.country;
+
+/**
+ * Receives progress from a running refresh. Calls arrive on the refresh thread while
+ * status is read from request threads, so implementations must be thread-safe.
+ */
+public interface RefreshProgress {
+
+    RefreshProgress NONE = new RefreshProgress() {
+    };
+
+    default void phase(RefreshPhase phase) {
+    }
+
+    default void countryProcessed() {
+    }
+
+    default void countryFailed() {
+    }
+
+    default void rowsWritten(int inserted, int updated, int unchanged) {
+    }
+}
\ No newline at end of file
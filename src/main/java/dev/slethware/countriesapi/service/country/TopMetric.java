@@ -0,0 +1,46 @@
+package dev.slethware.countriesapi.service.country;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+
+public enum TopMetric {
+
+    GDP("gdp", "estimatedGdp", Comparator.comparing(CountryResponse::estimatedGdp,
+            Comparator.nullsLast(Comparator.<Double>reverseOrder()))),
+    POPULATION("population", "population", Comparator.comparing(CountryResponse::population,
+            Comparator.nullsLast(Comparator.<Long>reverseOrder())));
+
+    private final String param;
+    private final Sort sort;
+    private final Comparator<CountryResponse> comparator;
+
+    TopMetric(String param, String column, Comparator<CountryResponse> order) {
+        this.param = param;
+        this.sort = Sort.by(Sort.Order.desc(column), Sort.Order.asc("id"));
+        this.comparator = order.thenComparing(CountryResponse::id);
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    // Best first: highest value, nulls last, ties by id
+    public Comparator<CountryResponse> getComparator() {
+        return comparator;
+    }
+
+    public static TopMetric fromParam(String by) {
+        for (TopMetric value : values()) {
+            if (value.param.equalsIgnoreCase(by)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package dev.slethware.countriesapi.service.http;
+
+/**
+ * Outcome of a conditional upstream fetch. {@code modified} is false when the source
+ * answered 304 or returned a body identical to the last one seen.
+ */
+public record FetchResult<T>(T body, boolean modified) {
+
+    public static <T> FetchResult<T> modified(T body) {
+        return new FetchResult<>(body, true);
+    }
+
+    public static <T> FetchResult<T> notModified(T lastBody) {
+        return new FetchResult<>(lastBody, false);
+    }
+}
\ No newline at end of file
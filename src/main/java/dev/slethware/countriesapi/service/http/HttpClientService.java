@@ -1,22 +1,56 @@
 package dev.slethware.countriesapi.service.http;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.slethware.countriesapi.exception.ServiceUnavailableException;
 import dev.slethware.countriesapi.models.dto.CountryApiResponse;
+import dev.slethware.countriesapi.models.dto.CurrencyDto;
 import dev.slethware.countriesapi.models.dto.ExchangeRateApiResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class HttpClientService {
 
+    private static final String SOURCE_COUNTRIES = "countries";
+    private static final String SOURCE_EXCHANGE_RATES = "exchange_rates";
+
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // Validators from the last successful response of each source, keyed by URL
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+
+    // Rates are small and needed whenever countries change, so the last body is kept
+    private volatile ExchangeRateApiResponse lastExchangeRates;
 
     @Value("${api.countries.url}")
     private String countriesApiUrl;
@@ -24,29 +58,29 @@ public class HttpClientService {
     @Value("${api.exchange-rate.url}")
     private String exchangeRateApiUrl;
 
-    public CountryApiResponse[] fetchAllCountries() {
+    /**
+     * Streams all countries to {@code consumer} as they are parsed off the wire, keeping only
+     * the fields the entity needs. Returns the number of countries read. When {@code conditional}
+     * is true and the payload turns out unchanged, the result is not modified and anything the
+     * consumer collected should be discarded.
+     */
+    public FetchResult<Integer> fetchAllCountries(boolean conditional, Consumer<CountryApiResponse> consumer) {
         try {
             log.info("Fetching countries from: {}", countriesApiUrl);
 
-            ResponseEntity<CountryApiResponse[]> response = restTemplate.exchange(
-                    countriesApiUrl,
-                    HttpMethod.GET,
-                    null,
-                    CountryApiResponse[].class
-            );
-
-            if (response.getBody() == null) {
-                throw new ServiceUnavailableException(
-                        "External data source unavailable",
-                        "Could not fetch data from Countries API"
-                );
+            FetchResult<Integer> result = fetch(countriesApiUrl, SOURCE_COUNTRIES, conditional,
+                    body -> readCountries(body, consumer));
+            if (!result.modified()) {
+                log.info("Countries unchanged since last fetch");
+                return result;
             }
 
-            log.info("Successfully fetched {} countries", response.getBody().length);
-            return response.getBody();
+            log.info("Successfully fetched {} countries", result.body());
+            return result;
 
         } catch (Exception e) {
             log.error("Error fetching countries: {}", e.getMessage(), e);
+            validators.remove(countriesApiUrl);
             throw new ServiceUnavailableException(
                     "External data source unavailable",
                     "Could not fetch data from Countries API"
@@ -54,34 +88,240 @@ public class HttpClientService {
         }
     }
 
-    public ExchangeRateApiResponse fetchExchangeRates() {
+    /**
+     * Fetches exchange rates, sending the stored validators. An unchanged result still
+     * carries the last rates so callers can reuse them.
+     */
+    public FetchResult<ExchangeRateApiResponse> fetchExchangeRates() {
         try {
             log.info("Fetching exchange rates from: {}", exchangeRateApiUrl);
 
-            ResponseEntity<ExchangeRateApiResponse> response = restTemplate.exchange(
-                    exchangeRateApiUrl,
-                    HttpMethod.GET,
-                    null,
-                    ExchangeRateApiResponse.class
-            );
+            ExchangeRateApiResponse cached = lastExchangeRates;
+            FetchResult<ExchangeRateApiResponse> result = fetch(exchangeRateApiUrl, SOURCE_EXCHANGE_RATES, cached != null,
+                    this::readExchangeRates);
+            if (!result.modified()) {
+                log.info("Exchange rates unchanged since last fetch");
+                return FetchResult.notModified(cached);
+            }
 
-            if (response.getBody() == null || !"success".equalsIgnoreCase(response.getBody().getResult())) {
+            ExchangeRateApiResponse rates = result.body();
+            if (rates == null || !"success".equalsIgnoreCase(rates.getResult())) {
                 throw new ServiceUnavailableException(
                         "External data source unavailable",
                         "Could not fetch data from Exchange Rate API"
                 );
             }
 
-            log.info("Successfully fetched exchange rates for {} currencies",
-                    response.getBody().getRates().size());
-            return response.getBody();
+            log.info("Successfully fetched exchange rates for {} currencies", rates.getRates().size());
+            lastExchangeRates = rates;
+            return result;
 
         } catch (Exception e) {
             log.error("Error fetching exchange rates: {}", e.getMessage(), e);
+            validators.remove(exchangeRateApiUrl);
             throw new ServiceUnavailableException(
                     "External data source unavailable",
                     "Could not fetch data from Exchange Rate API"
             );
         }
     }
+
+    /**
+     * Forgets all stored validators so the next fetch of every source is unconditional.
+     * Called when a refresh fails after its payloads were already accepted.
+     */
+    public void resetValidators() {
+        validators.clear();
+    }
+
+    // The fetch timer covers the whole exchange; for countries that includes the streamed processing
+    private <T> FetchResult<T> fetch(String url, String source, boolean conditional, BodyReader<T> reader) {
+        Validators previous = conditional ? validators.get(url) : null;
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return exchange(url, source, previous, reader);
+        } finally {
+            sample.stop(meterRegistry.timer("countries.upstream.fetch", "source", source));
+        }
+    }
+
+    private <T> FetchResult<T> exchange(String url, String source, Validators previous, BodyReader<T> reader) {
+        return restTemplate.execute(url, HttpMethod.GET, request -> {
+            if (previous != null && previous.etag() != null) {
+                request.getHeaders().setIfNoneMatch(previous.etag());
+            }
+            if (previous != null && previous.lastModified() != null) {
+                request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+            }
+        }, response -> {
+            if (previous != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                return FetchResult.notModified(null);
+            }
+
+            // Hash the bytes as they stream past the reader instead of buffering the body
+            CountingInputStream counted = new CountingInputStream(response.getBody());
+            DigestInputStream body = new DigestInputStream(counted, sha256());
+            T value = reader.read(body);
+            body.transferTo(OutputStream.nullOutputStream());
+
+            DistributionSummary.builder("countries.upstream.payload.size")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tag("source", source)
+                    .register(meterRegistry)
+                    .record(counted.count);
+
+            String contentHash = HexFormat.of().formatHex(body.getMessageDigest().digest());
+            validators.put(url, new Validators(
+                    response.getHeaders().getETag(),
+                    response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED),
+                    contentHash
+            ));
+
+            // Servers without validators still short-circuit when the payload is byte-identical
+            if (previous != null && contentHash.equals(previous.contentHash())) {
+                return FetchResult.notModified(null);
+            }
+            return FetchResult.modified(value);
+        });
+    }
+
+    private int readCountries(InputStream body, Consumer<CountryApiResponse> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            // The caller drains the rest of the stream for the content hash
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of countries");
+            }
+
+            // Parsing time excludes the consumer, which is timed by the caller
+            int count = 0;
+            long parsingNanos = 0;
+            long start = System.nanoTime();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                CountryApiResponse country = readCountry(parser);
+                parsingNanos += System.nanoTime() - start;
+                consumer.accept(country);
+                count++;
+                start = System.nanoTime();
+            }
+            parsingNanos += System.nanoTime() - start;
+
+            meterRegistry.timer("countries.upstream.deserialize", "source", SOURCE_COUNTRIES)
+                    .record(parsingNanos, TimeUnit.NANOSECONDS);
+            return count;
+        }
+    }
+
+    private ExchangeRateApiResponse readExchangeRates(InputStream body) throws IOException {
+        byte[] bytes = body.readAllBytes();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return objectMapper.readValue(bytes, ExchangeRateApiResponse.class);
+        } finally {
+            sample.stop(meterRegistry.timer("countries.upstream.deserialize", "source", SOURCE_EXCHANGE_RATES));
+        }
+    }
+
+    private CountryApiResponse readCountry(JsonParser parser) throws IOException {
+        CountryApiResponse country = new CountryApiResponse();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            // Objects and arrays are skipped unless they carry the currency list
+            if (value.isStructStart() && !"currencies".equals(field)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            switch (field) {
+                case "name" -> country.setName(readText(parser));
+                case "capital" -> country.setCapital(readText(parser));
+                case "region" -> country.setRegion(readText(parser));
+                case "flag" -> country.setFlag(readText(parser));
+                case "population" -> country.setPopulation(value.isNumeric() ? parser.getValueAsLong() : null);
+                case "currencies" -> country.setCurrencies(readFirstCurrency(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return country;
+    }
+
+    private String readText(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    // Only the first currency code is ever stored, so the rest are skipped unparsed
+    private List<CurrencyDto> readFirstCurrency(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return List.of();
+        }
+
+        String code = null;
+        boolean first = true;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (first && parser.currentToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if ("code".equals(field)) {
+                        code = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+            first = false;
+        }
+        return code != null ? List.of(new CurrencyDto(code, null, null)) : List.of();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    private record Validators(String etag, String lastModified, String contentHash) {
+    }
 }
\ No newline at end of file
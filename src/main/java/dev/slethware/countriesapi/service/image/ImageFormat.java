@@ -0,0 +1,42 @@
+package dev.slethware.countriesapi.service.image;
+
+import org.springframework.http.MediaType;
+
+import javax.imageio.ImageIO;
+
+public enum ImageFormat {
+
+    PNG("png", MediaType.IMAGE_PNG),
+    JPEG("jpeg", MediaType.IMAGE_JPEG),
+    // The JDK has no WebP encoder; this needs an ImageIO WebP plugin on the classpath
+    WEBP("webp", MediaType.parseMediaType("image/webp"));
+
+    private final String param;
+    private final MediaType mediaType;
+
+    ImageFormat(String param, MediaType mediaType) {
+        this.param = param;
+        this.mediaType = mediaType;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public boolean isAvailable() {
+        return ImageIO.getImageWritersByFormatName(param).hasNext();
+    }
+
+    public static ImageFormat fromParam(String format) {
+        for (ImageFormat value : values()) {
+            if (value.param.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -1,11 +1,13 @@
 package dev.slethware.countriesapi.service.image;
 
-import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryResponse;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ImageService {
-    void generateSummaryImage(List<Country> topCountries, long totalCountries, LocalDateTime lastRefreshedAt);
+    void generateSummaryImage(List<CountryResponse> topCountries, long totalCountries, LocalDateTime lastRefreshedAt);
     byte[] getSummaryImage();
+    byte[] renderSummaryImage(List<CountryResponse> topCountries, long totalCountries, LocalDateTime lastRefreshedAt,
+                              ImageVariant variant);
 }
\ No newline at end of file
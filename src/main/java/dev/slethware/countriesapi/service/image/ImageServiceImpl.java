@@ -1,18 +1,20 @@
 package dev.slethware.countriesapi.service.image;
 
 import dev.slethware.countriesapi.exception.ResourceNotFoundException;
-import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -25,118 +27,217 @@ public class ImageServiceImpl implements ImageService {
     private static final String IMAGE_FILE = "summary.png";
     private static final int IMAGE_WIDTH = 800;
     private static final int IMAGE_HEIGHT = 600;
+    private static final int ROW_HEIGHT = 60;
+    static final int TOP_COUNTRIES = 5;
+
+    // Fonts and colors are immutable, so they are shared across renders
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 32);
+    private static final Font HEADING_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font SUBHEADING_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final Font BODY_FONT = new Font("Arial", Font.PLAIN, 16);
+    private static final Font BODY_BOLD_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font FOOTER_FONT = new Font("Arial", Font.ITALIC, 12);
+    private static final Color HEADER_COLOR = new Color(59, 130, 246); // Blue color
+    private static final Color DIVIDER_COLOR = new Color(229, 231, 235); // Light gray
+    private static final Color FOOTER_COLOR = new Color(156, 163, 175); // Gray color
+
+    static {
+        // Encode straight to memory instead of through ImageIO's temp-file cache
+        ImageIO.setUseCache(false);
+    }
+
+    // Encoded PNG served to clients; the file on disk only survives restarts
+    private volatile byte[] summaryImage;
+
+    @PostConstruct
+    void loadPersistedImage() {
+        Path imagePath = Paths.get(CACHE_DIR, IMAGE_FILE);
+        if (!Files.exists(imagePath)) {
+            return;
+        }
+        try {
+            summaryImage = Files.readAllBytes(imagePath);
+            log.info("Loaded summary image from {}", imagePath);
+        } catch (IOException e) {
+            log.warn("Could not load summary image from {}", imagePath, e);
+        }
+    }
 
     @Override
-    public void generateSummaryImage(List<Country> topCountries, long totalCountries, LocalDateTime lastRefreshedAt) {
+    public void generateSummaryImage(List<CountryResponse> topCountries, long totalCountries, LocalDateTime lastRefreshedAt) {
         try {
             log.info("Generating summary image for {} countries", totalCountries);
 
-            // Create cache directory if it doesn't exist
+            byte[] png = encodePng(draw(topCountries, totalCountries, lastRefreshedAt));
+            summaryImage = png;
+
+            // Persist for restarts only; requests are served from memory
             Path cacheDir = Paths.get(CACHE_DIR);
-            if (!Files.exists(cacheDir)) {
-                Files.createDirectories(cacheDir);
-            }
+            Files.createDirectories(cacheDir);
+            Path tempFile = Files.createTempFile(cacheDir, IMAGE_FILE, ".tmp");
+            Files.write(tempFile, png);
+            Path outputFile = Files.move(tempFile, cacheDir.resolve(IMAGE_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            log.info("Summary image generated successfully at {}", outputFile.toAbsolutePath());
+
+        } catch (IOException e) {
+            log.error("Error generating summary image", e);
+            throw new RuntimeException("Failed to generate summary image", e);
+        }
+    }
 
-            // Create buffered image
-            BufferedImage image = new BufferedImage(IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_INT_RGB);
-            Graphics2D g2d = image.createGraphics();
+    @Override
+    public byte[] getSummaryImage() {
+        byte[] image = summaryImage;
+        if (image == null) {
+            log.warn("Summary image has not been generated yet");
+            throw new ResourceNotFoundException("Summary image not found");
+        }
+        return image;
+    }
+
+    @Override
+    public byte[] renderSummaryImage(List<CountryResponse> topCountries, long totalCountries,
+                                     LocalDateTime lastRefreshedAt, ImageVariant variant) {
+        int layoutHeight = layoutHeight(variant.top());
+        int width;
+        int height;
+        if (variant.width() != null && variant.height() != null) {
+            width = variant.width();
+            height = variant.height();
+        } else if (variant.width() != null) {
+            width = variant.width();
+            height = scaleDimension(width, layoutHeight, IMAGE_WIDTH);
+        } else if (variant.height() != null) {
+            height = variant.height();
+            width = scaleDimension(height, IMAGE_WIDTH, layoutHeight);
+        } else {
+            width = IMAGE_WIDTH;
+            height = layoutHeight;
+        }
 
+        try {
+            return encode(draw(topCountries, totalCountries, lastRefreshedAt, variant.top(), width, height),
+                    variant.format());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to render summary image", e);
+        }
+    }
+
+    BufferedImage draw(List<CountryResponse> topCountries, long totalCountries, LocalDateTime lastRefreshedAt) {
+        return draw(topCountries, totalCountries, lastRefreshedAt, TOP_COUNTRIES, IMAGE_WIDTH, IMAGE_HEIGHT);
+    }
+
+    /**
+     * Lays out {@code top} rows on an 800px wide canvas, tall enough for every row, then scales it
+     * to fit {@code width} x {@code height}, centered on white.
+     */
+    BufferedImage draw(List<CountryResponse> topCountries, long totalCountries, LocalDateTime lastRefreshedAt,
+                       int top, int width, int height) {
+        int layoutHeight = layoutHeight(top);
+
+        // Create buffered image
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+
+        try {
             // Enable anti-aliasing for better text rendering
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
             // Fill background with white
             g2d.setColor(Color.WHITE);
-            g2d.fillRect(0, 0, IMAGE_WIDTH, IMAGE_HEIGHT);
+            g2d.fillRect(0, 0, width, height);
+
+            // Scale the layout uniformly; the default size draws at 1:1
+            if (width != IMAGE_WIDTH || height != layoutHeight) {
+                double scale = Math.min((double) width / IMAGE_WIDTH, (double) height / layoutHeight);
+                g2d.translate((width - IMAGE_WIDTH * scale) / 2, (height - layoutHeight * scale) / 2);
+                g2d.scale(scale, scale);
+                g2d.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            }
 
             // Draw header background
-            g2d.setColor(new Color(59, 130, 246)); // Blue color
+            g2d.setColor(HEADER_COLOR);
             g2d.fillRect(0, 0, IMAGE_WIDTH, 100);
 
             // Draw title
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 32));
+            g2d.setFont(TITLE_FONT);
             g2d.drawString("Countries Summary Report", 40, 60);
 
             // Draw total countries
             g2d.setColor(Color.BLACK);
-            g2d.setFont(new Font("Arial", Font.BOLD, 24));
+            g2d.setFont(HEADING_FONT);
             g2d.drawString("Total Countries: " + totalCountries, 40, 150);
 
-            // Draw last refreshed timestamp - USE THE PASSED PARAMETER
-            g2d.setFont(new Font("Arial", Font.PLAIN, 16));
+            // Draw last refreshed timestamp
+            g2d.setFont(BODY_FONT);
             String timestamp = lastRefreshedAt != null
                     ? lastRefreshedAt.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
                     : "Never";
             g2d.drawString("Last Refreshed: " + timestamp, 40, 180);
 
-            // Draw top 5 countries header
-            g2d.setFont(new Font("Arial", Font.BOLD, 20));
-            g2d.drawString("Top 5 Countries by Estimated GDP", 40, 230);
+            // Draw top countries header
+            g2d.setFont(SUBHEADING_FONT);
+            g2d.drawString("Top " + top + " Countries by Estimated GDP", 40, 230);
 
             // Draw horizontal line
-            g2d.setColor(new Color(229, 231, 235)); // Light gray
+            g2d.setColor(DIVIDER_COLOR);
             g2d.fillRect(40, 240, IMAGE_WIDTH - 80, 2);
 
-            // Draw top 5 countries
+            // Draw top countries
             g2d.setColor(Color.BLACK);
-            g2d.setFont(new Font("Arial", Font.PLAIN, 16));
             int yPosition = 280;
             int rank = 1;
 
-            for (Country country : topCountries) {
-                if (rank > 5) break;
+            for (CountryResponse country : topCountries) {
+                if (rank > top) break;
 
-                String countryName = country.getName();
-                String gdp = String.format("$%.2f", country.getEstimatedGdp() != null ? country.getEstimatedGdp() : 0.0);
+                String gdp = String.format("$%.2f", country.estimatedGdp() != null ? country.estimatedGdp() : 0.0);
 
                 // Draw rank and country name
-                g2d.setFont(new Font("Arial", Font.BOLD, 16));
-                g2d.drawString(rank + ". " + countryName, 60, yPosition);
+                g2d.setFont(BODY_BOLD_FONT);
+                g2d.drawString(rank + ". " + country.name(), 60, yPosition);
 
                 // Draw GDP value
-                g2d.setFont(new Font("Arial", Font.PLAIN, 16));
+                g2d.setFont(BODY_FONT);
                 g2d.drawString("GDP: " + gdp, 80, yPosition + 20);
 
-                yPosition += 60;
+                yPosition += ROW_HEIGHT;
                 rank++;
             }
 
             // Draw footer
-            g2d.setColor(new Color(156, 163, 175)); // Gray color
-            g2d.setFont(new Font("Arial", Font.ITALIC, 12));
-            g2d.drawString("Generated by Countries FX API", 40, IMAGE_HEIGHT - 30);
-
+            g2d.setColor(FOOTER_COLOR);
+            g2d.setFont(FOOTER_FONT);
+            g2d.drawString("Generated by Countries FX API", 40, layoutHeight - 30);
+        } finally {
             g2d.dispose();
+        }
 
-            // Save image to file
-            File outputFile = new File(CACHE_DIR + "/" + IMAGE_FILE);
-            ImageIO.write(image, "png", outputFile);
+        return image;
+    }
 
-            log.info("Summary image generated successfully at {}", outputFile.getAbsolutePath());
+    static byte[] encodePng(BufferedImage image) throws IOException {
+        return encode(image, ImageFormat.PNG);
+    }
 
-        } catch (IOException e) {
-            log.error("Error generating summary image", e);
-            throw new RuntimeException("Failed to generate summary image", e);
+    static byte[] encode(BufferedImage image, ImageFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        if (!ImageIO.write(image, format.getParam(), out)) {
+            throw new IOException("No image writer for " + format.getParam());
         }
+        return out.toByteArray();
     }
 
-    @Override
-    public byte[] getSummaryImage() {
-        try {
-            Path imagePath = Paths.get(CACHE_DIR, IMAGE_FILE);
-
-            if (!Files.exists(imagePath)) {
-                log.warn("Summary image not found at {}", imagePath);
-                throw new ResourceNotFoundException("Summary image not found");
-            }
-
-            log.info("Reading summary image from {}", imagePath);
-            return Files.readAllBytes(imagePath);
+    // Rows start at y=280; the footer needs the last 60px
+    static int layoutHeight(int top) {
+        return Math.max(IMAGE_HEIGHT, 240 + top * ROW_HEIGHT + 60);
+    }
 
-        } catch (IOException e) {
-            log.error("Error reading summary image", e);
-            throw new RuntimeException("Failed to read summary image", e);
-        }
+    private static int scaleDimension(int value, int numerator, int denominator) {
+        return Math.max(1, (int) Math.round((double) value * numerator / denominator));
     }
 }
\ No newline at end of file
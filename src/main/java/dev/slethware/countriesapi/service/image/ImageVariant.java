@@ -0,0 +1,44 @@
+package dev.slethware.countriesapi.service.image;
+
+import dev.slethware.countriesapi.exception.BadRequestException;
+
+/**
+ * A requested rendering of the summary image. A missing width or height follows the layout's
+ * aspect ratio; when both are given the layout is scaled to fit and centered.
+ */
+public record ImageVariant(Integer width, Integer height, ImageFormat format, int top) {
+
+    public static final int MIN_DIMENSION = 50;
+    public static final int MAX_DIMENSION = 2000;
+    public static final int MAX_TOP = 20;
+
+    /**
+     * Validates request parameters; null when none are given, meaning the pre-rendered default image.
+     */
+    public static ImageVariant of(Integer width, Integer height, String format, Integer top) {
+        if (width == null && height == null && format == null && top == null) {
+            return null;
+        }
+
+        checkDimension("width", width);
+        checkDimension("height", height);
+        if (top != null && (top < 1 || top > MAX_TOP)) {
+            throw new BadRequestException("top must be between 1 and " + MAX_TOP);
+        }
+
+        ImageFormat imageFormat = format != null ? ImageFormat.fromParam(format) : ImageFormat.PNG;
+        if (imageFormat == null) {
+            throw new BadRequestException("Unsupported image format: " + format);
+        }
+        if (!imageFormat.isAvailable()) {
+            throw new BadRequestException("Image format not available on this server: " + format);
+        }
+        return new ImageVariant(width, height, imageFormat, top != null ? top : ImageServiceImpl.TOP_COUNTRIES);
+    }
+
+    private static void checkDimension(String name, Integer value) {
+        if (value != null && (value < MIN_DIMENSION || value > MAX_DIMENSION)) {
+            throw new BadRequestException(name + " must be between " + MIN_DIMENSION + " and " + MAX_DIMENSION);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package dev.slethware.countriesapi.service.image;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import dev.slethware.countriesapi.service.cache.CountrySnapshot;
+import dev.slethware.countriesapi.service.cache.CountrySnapshotUpdatedEvent;
+import dev.slethware.countriesapi.service.country.TopMetric;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Re-renders the summary image in the background whenever a new country snapshot is installed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SummaryImageRenderer {
+
+    private final ImageService imageService;
+    private final MeterRegistry meterRegistry;
+    private long renderedVersion;
+
+    @Async
+    @EventListener
+    public synchronized void onSnapshotUpdated(CountrySnapshotUpdatedEvent event) {
+        CountrySnapshot snapshot = event.snapshot();
+
+        // Renders are serialized; a snapshot older than the last rendered one is skipped
+        if (snapshot.getVersion() <= renderedVersion) {
+            return;
+        }
+        renderedVersion = snapshot.getVersion();
+
+        try {
+            List<CountryResponse> topCountries = snapshot.top(TopMetric.GDP, ImageServiceImpl.TOP_COUNTRIES, null);
+
+            meterRegistry.timer("countries.image.render").record(() ->
+                    imageService.generateSummaryImage(topCountries, snapshot.size(), snapshot.getLastRefreshedAt()));
+        } catch (Exception e) {
+            log.error("Error generating summary image", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package dev.slethware.countriesapi.service.image;
+
+import dev.slethware.countriesapi.exception.ResourceNotFoundException;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import dev.slethware.countriesapi.service.cache.CountryCache;
+import dev.slethware.countriesapi.service.cache.CountrySnapshot;
+import dev.slethware.countriesapi.service.country.TopMetric;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Summary image variants rendered on demand from the current snapshot. Encoded images are kept in
+ * an LRU bounded by total size and keyed by snapshot version, so a refresh invalidates them.
+ * Concurrent requests for the same uncached variant wait on a single render.
+ */
+@Component
+public class SummaryImageVariantCache {
+
+    private final CountryCache countryCache;
+    private final ImageService imageService;
+    private final MeterRegistry meterRegistry;
+    private final long maxBytes;
+    private final Map<Key, CompletableFuture<byte[]>> rendering = new ConcurrentHashMap<>();
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private long cachedVersion;
+
+    public SummaryImageVariantCache(CountryCache countryCache, ImageService imageService, MeterRegistry meterRegistry,
+                                    @Value("${countries.image.variant-cache-size:16MB}") DataSize maxSize) {
+        this.countryCache = countryCache;
+        this.imageService = imageService;
+        this.meterRegistry = meterRegistry;
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    public byte[] getImage(ImageVariant variant) {
+        // Same as the pre-rendered image: nothing to draw before the first refresh
+        CountrySnapshot snapshot = countryCache.getSnapshot()
+                .filter(current -> current.size() > 0)
+                .orElseThrow(() -> new ResourceNotFoundException("Summary image not found"));
+        Key key = new Key(snapshot.getVersion(), variant);
+
+        byte[] image = lookup(key);
+        if (image != null) {
+            meterRegistry.counter("countries.image.variant.cache", "result", "hit").increment();
+            return image;
+        }
+
+        CompletableFuture<byte[]> render = new CompletableFuture<>();
+        CompletableFuture<byte[]> inFlight = rendering.putIfAbsent(key, render);
+        if (inFlight != null) {
+            meterRegistry.counter("countries.image.variant.cache", "result", "shared").increment();
+            return await(inFlight);
+        }
+
+        try {
+            // Another request may have stored it between the lookup and claiming the render
+            image = lookup(key);
+            if (image == null) {
+                meterRegistry.counter("countries.image.variant.cache", "result", "miss").increment();
+                image = render(snapshot, variant);
+                store(key, image);
+            }
+            render.complete(image);
+            return image;
+        } catch (RuntimeException e) {
+            render.completeExceptionally(e);
+            throw e;
+        } finally {
+            rendering.remove(key, render);
+        }
+    }
+
+    private byte[] render(CountrySnapshot snapshot, ImageVariant variant) {
+        List<CountryResponse> topCountries = snapshot.top(TopMetric.GDP, variant.top(), null);
+        return meterRegistry.timer("countries.image.variant.render", "format", variant.format().getParam())
+                .record(() -> imageService.renderSummaryImage(topCountries, snapshot.size(),
+                        snapshot.getLastRefreshedAt(), variant));
+    }
+
+    private synchronized byte[] lookup(Key key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(Key key, byte[] image) {
+        if (key.version() > cachedVersion) {
+            entries.clear();
+            cachedBytes = 0;
+            cachedVersion = key.version();
+        }
+        // Renders from an older snapshot, or larger than the whole budget, are served but not kept
+        if (key.version() < cachedVersion || image.length > maxBytes) {
+            return;
+        }
+
+        byte[] previous = entries.put(key, image);
+        cachedBytes += image.length - (previous != null ? previous.length : 0);
+
+        Iterator<byte[]> eldest = entries.values().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            cachedBytes -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> render) {
+        try {
+            return render.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(long version, ImageVariant variant) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package dev.slethware.countriesapi.service.limit;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps in-flight requests with an AIMD limit: every request that finishes under the latency
+ * target while the limit is at least half used raises it by one, and every slower one cuts it
+ * by {@link #BACKOFF_RATIO}. Requests over the limit wait in a bounded queue for a bounded time;
+ * beyond that they are rejected straight away, so admitted requests keep their latency.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final long queueTimeoutNanos;
+    private final long latencyTargetNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int queueSize,
+                                      Duration queueTimeout, Duration latencyTarget) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueSize = queueSize;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Admits the caller, waiting in the queue if the limit is reached. Returns null when the
+     * queue is full or the wait times out.
+     */
+    public Permit acquire() {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                return admit();
+            }
+            if (waiting >= queueSize) {
+                return null;
+            }
+
+            waiting++;
+            try {
+                long remaining = queueTimeoutNanos;
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                return admit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Admits the caller only if the limit has room, never waiting; for callers that must not block.
+     */
+    public Permit tryAcquire() {
+        lock.lock();
+        try {
+            return inFlight < currentLimit() ? admit() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private Permit admit() {
+        inFlight++;
+        return new Permit(System.nanoTime());
+    }
+
+    private void release(long latencyNanos) {
+        lock.lock();
+        try {
+            // Judge utilisation before this request leaves, as it was when the request ran
+            boolean busy = inFlight * 2 >= currentLimit();
+            inFlight--;
+            if (latencyNanos > latencyTargetNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (busy) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One admitted request. Must be released exactly once when the request completes.
+     */
+    public final class Permit {
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public void release() {
+            if (!released) {
+                released = true;
+                AdaptiveConcurrencyLimiter.this.release(System.nanoTime() - startNanos);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package dev.slethware.countriesapi.service.limit;
+
+import dev.slethware.countriesapi.config.ConcurrencyLimitProperties;
+import dev.slethware.countriesapi.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One {@link AdaptiveConcurrencyLimiter} per {@link EndpointClass}, with their limits and
+ * rejections exported as metrics.
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimiters {
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+    private final ConcurrencyLimitProperties properties;
+
+    public ConcurrencyLimiters(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            ConcurrencyLimitProperties.Limit limit = properties.forClass(endpointClass);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limit.initialLimit(),
+                    limit.minLimit(), limit.maxLimit(), limit.queueSize(), limit.queueTimeout(), limit.latencyTarget());
+            limiters.put(endpointClass, limiter);
+
+            Gauge.builder("countries.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("endpoint_class", endpointClass.getTag())
+                    .register(meterRegistry);
+            Gauge.builder("countries.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("endpoint_class", endpointClass.getTag())
+                    .register(meterRegistry);
+            Gauge.builder("countries.concurrency.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                    .tag("endpoint_class", endpointClass.getTag())
+                    .register(meterRegistry);
+            rejections.put(endpointClass, Counter.builder("countries.concurrency.rejected")
+                    .tag("endpoint_class", endpointClass.getTag())
+                    .register(meterRegistry));
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Admits a request of the given class, queueing it if needed.
+     *
+     * @throws ServiceOverloadedException when the class is at its limit and the queue is full or timed out
+     */
+    public AdaptiveConcurrencyLimiter.Permit acquire(EndpointClass endpointClass) {
+        return admitted(endpointClass, limiters.get(endpointClass).acquire());
+    }
+
+    /**
+     * Admits a request of the given class without queueing, for the non-blocking reactive stack.
+     */
+    public AdaptiveConcurrencyLimiter.Permit tryAcquire(EndpointClass endpointClass) {
+        return admitted(endpointClass, limiters.get(endpointClass).tryAcquire());
+    }
+
+    private AdaptiveConcurrencyLimiter.Permit admitted(EndpointClass endpointClass,
+                                                       AdaptiveConcurrencyLimiter.Permit permit) {
+        if (permit != null) {
+            return permit;
+        }
+        rejections.get(endpointClass).increment();
+        Duration retryAfter = properties.forClass(endpointClass).retryAfter();
+        throw new ServiceOverloadedException("Too many concurrent " + endpointClass.getTag() + " requests", retryAfter);
+    }
+}
\ No newline at end of file
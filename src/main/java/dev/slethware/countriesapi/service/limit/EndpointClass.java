@@ -0,0 +1,47 @@
+package dev.slethware.countriesapi.service.limit;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Groups of endpoints that get their own concurrency limit, so a burst of image renders,
+ * refresh triggers or deletes cannot take the capacity reads need.
+ */
+public enum EndpointClass {
+
+    READS("reads"),
+    WRITES("writes"),
+    REFRESH("refresh"),
+    IMAGE("image");
+
+    private final String tag;
+
+    EndpointClass(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * The class of an API request, or null for paths outside the API (docs, actuator).
+     */
+    public static EndpointClass of(HttpMethod method, String path) {
+        if (path.equals("/countries/image")) {
+            return IMAGE;
+        }
+        if (HttpMethod.POST.equals(method) && path.startsWith("/countries/refresh")) {
+            return REFRESH;
+        }
+        if (path.equals("/countries") || path.startsWith("/countries/") || path.equals("/status")) {
+            return isRead(method, path) ? READS : WRITES;
+        }
+        return null;
+    }
+
+    // Lookup takes its list of names as a POST body but only reads
+    private static boolean isRead(HttpMethod method, String path) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)
+                || (HttpMethod.POST.equals(method) && path.equals("/countries/lookup"));
+    }
+}
\ No newline at end of file
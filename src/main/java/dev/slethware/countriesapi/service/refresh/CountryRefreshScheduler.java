@@ -0,0 +1,56 @@
+package dev.slethware.countriesapi.service.refresh;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Triggers a full refresh every {@code countries.refresh.schedule.interval} plus a random
+ * delay of up to {@code countries.refresh.schedule.jitter}, so instances do not hit the
+ * upstream APIs in lockstep.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "countries.refresh.schedule", name = "enabled", havingValue = "true")
+public class CountryRefreshScheduler {
+
+    private final RefreshJobService refreshJobService;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${countries.refresh.schedule.interval}")
+    private Duration interval;
+
+    @Value("${countries.refresh.schedule.jitter}")
+    private Duration jitter;
+
+    @PostConstruct
+    void start() {
+        scheduleNext();
+    }
+
+    private void scheduleNext() {
+        long jitterMillis = jitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+        Instant next = Instant.now().plus(interval).plusMillis(jitterMillis);
+        taskScheduler.schedule(this::trigger, next);
+        log.info("Next scheduled country refresh at {}", next);
+    }
+
+    private void trigger() {
+        try {
+            refreshJobService.submit(RefreshType.FULL);
+        } catch (Exception e) {
+            log.error("Could not queue scheduled country refresh", e);
+        } finally {
+            scheduleNext();
+        }
+    }
+}
\ No newline at end of file
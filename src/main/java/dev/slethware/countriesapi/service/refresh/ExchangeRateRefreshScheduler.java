@@ -0,0 +1,29 @@
+package dev.slethware.countriesapi.service.refresh;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues the rates-only refresh on a fixed delay when {@code countries.rates-refresh.enabled} is set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "countries.rates-refresh", name = "enabled", havingValue = "true")
+public class ExchangeRateRefreshScheduler {
+
+    private final RefreshJobService refreshJobService;
+
+    @Scheduled(initialDelayString = "${countries.rates-refresh.interval}",
+            fixedDelayString = "${countries.rates-refresh.interval}")
+    public void refreshExchangeRates() {
+        try {
+            refreshJobService.submit(RefreshType.RATES);
+        } catch (Exception e) {
+            log.error("Could not queue scheduled exchange rate refresh", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package dev.slethware.countriesapi.service.refresh;
+
+import dev.slethware.countriesapi.models.response.RefreshJobResponse;
+import dev.slethware.countriesapi.service.country.RefreshPhase;
+import dev.slethware.countriesapi.service.country.RefreshProgress;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live state of one refresh run. Written by the refresh thread, read by status requests.
+ * The outcome is published in a single write, so a status never pairs a finish time with a running phase.
+ */
+final class RefreshJob implements RefreshProgress {
+
+    private final String id = UUID.randomUUID().toString();
+    private final RefreshType type;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private volatile RefreshPhase phase = RefreshPhase.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile int inserted;
+    private volatile int updated;
+    private volatile int unchanged;
+    private volatile Outcome outcome;
+
+    RefreshJob(RefreshType type) {
+        this.type = type;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    RefreshType getType() {
+        return type;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+    }
+
+    void complete(String message) {
+        outcome = new Outcome(RefreshPhase.COMPLETED, LocalDateTime.now(), message, null);
+    }
+
+    void fail(String error) {
+        outcome = new Outcome(RefreshPhase.FAILED, LocalDateTime.now(), null, error);
+    }
+
+    @Override
+    public void phase(RefreshPhase phase) {
+        this.phase = phase;
+    }
+
+    @Override
+    public void countryProcessed() {
+        processed.incrementAndGet();
+    }
+
+    @Override
+    public void countryFailed() {
+        failed.incrementAndGet();
+    }
+
+    @Override
+    public void rowsWritten(int inserted, int updated, int unchanged) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.unchanged = unchanged;
+    }
+
+    RefreshJobResponse toResponse() {
+        Outcome finished = outcome;
+        if (finished == null) {
+            return new RefreshJobResponse(id, type, phase, processed.get(), failed.get(), inserted, updated,
+                    unchanged, null, null, submittedAt, startedAt, null);
+        }
+        return new RefreshJobResponse(id, type, finished.phase(), processed.get(), failed.get(), inserted, updated,
+                unchanged, finished.message(), finished.error(), submittedAt, startedAt, finished.finishedAt());
+    }
+
+    private record Outcome(RefreshPhase phase, LocalDateTime finishedAt, String message, String error) {
+    }
+}
\ No newline at end of file
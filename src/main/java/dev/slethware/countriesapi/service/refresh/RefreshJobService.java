@@ -0,0 +1,16 @@
+package dev.slethware.countriesapi.service.refresh;
+
+import dev.slethware.countriesapi.models.response.RefreshJobResponse;
+
+import java.util.Optional;
+
+public interface RefreshJobService {
+
+    /**
+     * Queues a refresh of the given type, or returns the queued or running job of that type
+     * if there is one.
+     */
+    RefreshJobResponse submit(RefreshType type);
+
+    Optional<RefreshJobResponse> findJob(String id);
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package dev.slethware.countriesapi.service.refresh;
+
+import dev.slethware.countriesapi.models.response.RefreshJobResponse;
+import dev.slethware.countriesapi.service.country.CountryService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs refreshes one at a time on a dedicated thread. Triggers for a type that is already
+ * queued or running join that job instead of starting another one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshJobServiceImpl implements RefreshJobService {
+
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private final CountryService countryService;
+
+    // Full and rates-only refreshes write the same rows, so they share a single worker
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("country-refresh").daemon().factory());
+    private final Map<RefreshType, RefreshJob> inFlight = new EnumMap<>(RefreshType.class);
+    private final Map<String, RefreshJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RefreshJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    };
+
+    @Override
+    public synchronized RefreshJobResponse submit(RefreshType type) {
+        RefreshJob existing = inFlight.get(type);
+        if (existing != null) {
+            log.info("{} refresh already in flight as job {}", type, existing.getId());
+            return existing.toResponse();
+        }
+
+        RefreshJob job = new RefreshJob(type);
+        inFlight.put(type, job);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job));
+
+        log.info("Queued {} refresh job {}", type, job.getId());
+        return job.toResponse();
+    }
+
+    @Override
+    public synchronized Optional<RefreshJobResponse> findJob(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(RefreshJob::toResponse);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(RefreshJob job) {
+        job.start();
+        String message = null;
+        Exception failure = null;
+        try {
+            message = job.getType() == RefreshType.FULL
+                    ? countryService.refreshCountries(job)
+                    : countryService.refreshExchangeRates(job);
+        } catch (Exception e) {
+            log.error("Refresh job {} failed", job.getId(), e);
+            failure = e;
+        } finally {
+            // Leave the in-flight slot before reporting the outcome, so a trigger from anyone who
+            // has seen the job finish starts a new one instead of joining it
+            synchronized (this) {
+                inFlight.remove(job.getType(), job);
+            }
+        }
+        if (failure == null) {
+            job.complete(message);
+        } else {
+            job.fail(failure.getMessage());
+        }
+    }
+}
\ No newline at end of file
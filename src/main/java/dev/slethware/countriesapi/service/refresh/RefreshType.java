@@ -0,0 +1,8 @@
+package dev.slethware.countriesapi.service.refresh;
+
+public enum RefreshType {
+    // Countries and rates (POST /countries/refresh)
+    FULL,
+    // Exchange rates only (POST /countries/refresh/rates)
+    RATES
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+CREATE TABLE countries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    capital VARCHAR(255),
+    region VARCHAR(255),
+    population BIGINT NOT NULL,
+    currency_code VARCHAR(10),
+    exchange_rate DOUBLE,
+    estimated_gdp DOUBLE,
+    flag_url VARCHAR(500),
+    last_refreshed_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
\ No newline at end of file
@@ -0,0 +1,18 @@
+-- Lower-cased copies of the lookup columns, so equality filters can use plain indexes
+-- instead of LOWER(column) scans
+ALTER TABLE countries ADD COLUMN name_key VARCHAR(255);
+ALTER TABLE countries ADD COLUMN region_key VARCHAR(255);
+ALTER TABLE countries ADD COLUMN currency_key VARCHAR(10);
+
+UPDATE countries
+SET name_key = LOWER(name),
+    region_key = LOWER(region),
+    currency_key = LOWER(currency_code);
+
+ALTER TABLE countries MODIFY COLUMN name_key VARCHAR(255) NOT NULL;
+
+CREATE UNIQUE INDEX ux_countries_name_key ON countries (name_key);
+CREATE INDEX idx_countries_region_key_gdp ON countries (region_key, estimated_gdp);
+CREATE INDEX idx_countries_currency_key_gdp ON countries (currency_key, estimated_gdp);
+CREATE INDEX idx_countries_estimated_gdp ON countries (estimated_gdp);
+CREATE INDEX idx_countries_population ON countries (population);
\ No newline at end of file
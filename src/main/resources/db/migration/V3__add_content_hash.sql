@@ -0,0 +1,2 @@
+-- Hash of the upstream-derived columns; refreshes skip rows whose hash is unchanged
+ALTER TABLE countries ADD COLUMN content_hash VARCHAR(64);
\ No newline at end of file
@@ -0,0 +1,12 @@
+-- Accent-folded, lower-cased name that both the snapshot and the database sort by. The binary
+-- collation makes MySQL compare it code point by code point, like the Java comparator, instead of
+-- with the accent-insensitive default collation
+ALTER TABLE countries ADD COLUMN name_sort_key VARCHAR(255) COLLATE utf8mb4_bin;
+
+-- SQL cannot fold accents portably, so existing rows start from the lower-cased name. Clearing the
+-- hash makes the next refresh rewrite every row, which stores the folded key
+UPDATE countries
+SET name_sort_key = LOWER(name),
+    content_hash = NULL;
+
+CREATE INDEX idx_countries_name_sort_key ON countries (name_sort_key);
\ No newline at end of file
@@ -0,0 +1,98 @@
+package dev.slethware.countriesapi.benchmark;
+
+import dev.slethware.countriesapi.models.dto.CountryApiResponse;
+import dev.slethware.countriesapi.models.dto.CurrencyDto;
+import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic, upstream-sized fixtures shared by the JMH benchmarks.
+ */
+public final class BenchmarkData {
+
+    public static final int COUNTRY_COUNT = 250;
+
+    private static final String[] REGIONS = {"Africa", "Americas", "Asia", "Europe", "Oceania", "Polar"};
+    private static final int CURRENCY_COUNT = 160;
+
+    private BenchmarkData() {
+    }
+
+    public static List<CountryApiResponse> upstreamCountries() {
+        Random random = new Random(42);
+        List<CountryApiResponse> countries = new ArrayList<>(COUNTRY_COUNT);
+        for (int i = 0; i < COUNTRY_COUNT; i++) {
+            // Roughly one in twenty upstream countries has no currency
+            List<CurrencyDto> currencies = i % 20 == 0
+                    ? List.of()
+                    : List.of(new CurrencyDto(currencyCode(i % CURRENCY_COUNT), "Currency " + i, "$"));
+            countries.add(new CountryApiResponse(
+                    "Country " + i,
+                    "Capital " + i,
+                    REGIONS[i % REGIONS.length],
+                    (long) random.nextInt(300_000_000),
+                    currencies,
+                    "https://flagcdn.com/c" + i + ".svg"
+            ));
+        }
+        return countries;
+    }
+
+    public static Map<String, Double> exchangeRates() {
+        Random random = new Random(7);
+        Map<String, Double> rates = new HashMap<>();
+        for (int i = 0; i < CURRENCY_COUNT; i++) {
+            rates.put(currencyCode(i), 0.1 + random.nextDouble() * 2000);
+        }
+        return rates;
+    }
+
+    public static List<Country> countries() {
+        Map<String, Double> rates = exchangeRates();
+        List<Country> countries = new ArrayList<>(COUNTRY_COUNT);
+        for (CountryApiResponse upstream : upstreamCountries()) {
+            Country country = new Country();
+            country.setName(upstream.getName());
+            country.setCapital(upstream.getCapital());
+            country.setRegion(upstream.getRegion());
+            country.setPopulation(upstream.getPopulation());
+            country.setFlagUrl(upstream.getFlag());
+            country.setLastRefreshedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+            if (!upstream.getCurrencies().isEmpty()) {
+                String code = upstream.getCurrencies().get(0).getCode();
+                country.setCurrencyCode(code);
+                country.setExchangeRate(rates.get(code));
+                country.setEstimatedGdp(upstream.getPopulation() * 1500 / rates.get(code));
+            } else {
+                country.setEstimatedGdp(0.0);
+            }
+            countries.add(country);
+        }
+        return countries;
+    }
+
+    public static List<CountryResponse> responses() {
+        List<Country> countries = countries();
+        List<CountryResponse> responses = new ArrayList<>(countries.size());
+        for (int i = 0; i < countries.size(); i++) {
+            Country country = countries.get(i);
+            country.setId((long) i + 1);
+            responses.add(new CountryResponse(country.getId(), country.getName(), country.getCapital(),
+                    country.getRegion(), country.getPopulation(), country.getCurrencyCode(),
+                    country.getExchangeRate(), country.getEstimatedGdp(), country.getFlagUrl(),
+                    country.getLastRefreshedAt()));
+        }
+        return responses;
+    }
+
+    private static String currencyCode(int index) {
+        return "C" + (char) ('A' + index / 26 % 26) + (char) ('A' + index % 26);
+    }
+}
\ No newline at end of file
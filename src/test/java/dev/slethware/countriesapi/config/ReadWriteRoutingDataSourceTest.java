@@ -0,0 +1,70 @@
+package dev.slethware.countriesapi.config;
+
+import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.repository.CountryRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "countries.datasource.replicas[0].url=" + ReadWriteRoutingDataSourceTest.REPLICA_URL,
+        "countries.datasource.read-your-writes-window=PT1M"
+})
+class ReadWriteRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void seedReplica() {
+        // The replica gets the same schema plus a row the primary never sees
+        DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replica).load().migrate();
+        new JdbcTemplate(replica).update("""
+                INSERT INTO countries (name, name_key, population, last_refreshed_at)
+                VALUES ('Atlantis', 'atlantis', 1, CURRENT_TIMESTAMP)""");
+    }
+
+    @Test
+    void routesReadsToReplicaAndKeepsReadsOnPrimaryAfterWrite() {
+        // Repository queries are read-only on their own
+        assertThat(countryRepository.findByNameKey("atlantis")).isPresent();
+        assertThat(read(true, "atlantis")).isPresent();
+        assertThat(read(false, "atlantis")).isEmpty();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Country country = new Country();
+            country.setName("Wakanda");
+            country.setPopulation(1L);
+            country.setLastRefreshedAt(LocalDateTime.now());
+            countryRepository.save(country);
+        });
+
+        // The replica never receives the row, so finding it read-only means the read stayed on the primary
+        assertThat(read(true, "wakanda")).map(Country::getName).contains("Wakanda");
+        assertThat(read(true, "atlantis")).isEmpty();
+    }
+
+    private Optional<Country> read(boolean readOnly, String nameKey) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> countryRepository.findByNameKey(nameKey));
+    }
+}
\ No newline at end of file
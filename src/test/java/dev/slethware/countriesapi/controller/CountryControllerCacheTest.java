@@ -0,0 +1,198 @@
+package dev.slethware.countriesapi.controller;
+
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.service.cache.CachedResponse;
+import dev.slethware.countriesapi.service.cache.CountryResponseCache;
+import dev.slethware.countriesapi.service.cache.ResponseFormat;
+import dev.slethware.countriesapi.service.cache.SnapshotFileStore;
+import dev.slethware.countriesapi.service.country.CountryService;
+import dev.slethware.countriesapi.service.country.RefreshProgress;
+import dev.slethware.countriesapi.service.http.HttpClientService;
+import dev.slethware.countriesapi.service.image.ImageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Image rendering and the snapshot file are mocked out so refreshes leave nothing in cache/
+@SpringBootTest
+@AutoConfigureMockMvc
+class CountryControllerCacheTest {
+
+    private static final String RATES = """
+            {"result": "success", "base_code": "USD", "rates": {"USD": 1, "NGN": 1600.0, "GHS": 12.0, "EUR": 0.92}}
+            """;
+    private static final String COUNTRIES = """
+            [{"name": "Nigeria", "capital": "Abuja", "region": "Africa", "population": 206139589, "currencies": [{"code": "NGN"}]},
+             {"name": "Ghana", "capital": "Accra", "region": "Africa", "population": 31072940, "currencies": [{"code": "GHS"}]},
+             {"name": "France", "capital": "Paris", "region": "Europe", "population": 67391582, "currencies": [{"code": "EUR"}]}]
+            """;
+    private static final String CHANGED_COUNTRIES = """
+            [{"name": "Nigeria", "capital": "Abuja", "region": "Africa", "population": 206139589, "currencies": [{"code": "NGN"}]},
+             {"name": "Ghana", "capital": "Kumasi", "region": "Africa", "population": 31072940, "currencies": [{"code": "GHS"}]},
+             {"name": "France", "capital": "Paris", "region": "Europe", "population": 67391582, "currencies": [{"code": "EUR"}]}]
+            """;
+
+    @MockitoBean
+    private ImageService imageService;
+
+    @MockitoBean
+    private SnapshotFileStore snapshotFileStore;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CountryService countryService;
+
+    @Autowired
+    private CountryResponseCache countryResponseCache;
+
+    @Autowired
+    private HttpClientService httpClientService;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        httpClientService.resetValidators();
+        refresh(COUNTRIES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM countries");
+    }
+
+    @Test
+    void gzipCapableClientsGetTheCompressedCopyOfThePlainBody() throws Exception {
+        MvcResult plain = mockMvc.perform(get("/countries").param("region", "Africa"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(jsonPath("$[*].name").value(containsInAnyOrder("Nigeria", "Ghana")))
+                .andReturn();
+
+        MvcResult gzipped = mockMvc.perform(get("/countries").param("region", "Africa")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+
+        byte[] plainBody = plain.getResponse().getContentAsByteArray();
+        assertThat(gunzip(gzipped.getResponse().getContentAsByteArray())).isEqualTo(plainBody);
+
+        // A refused gzip is served plain
+        mockMvc.perform(get("/countries").param("region", "Africa").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(result -> assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(plainBody));
+    }
+
+    @Test
+    void deleteAndRefreshInvalidateTheCachedBody() throws Exception {
+        CachedResponse cached = cachedAfrica();
+        assertThat(cachedAfrica()).isSameAs(cached);
+
+        mockMvc.perform(delete("/countries/Nigeria")).andExpect(status().isNoContent());
+        CachedResponse afterDelete = cachedAfrica();
+        assertThat(afterDelete).isNotSameAs(cached);
+        mockMvc.perform(get("/countries").param("region", "Africa").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(result -> assertThat(gunzip(result.getResponse().getContentAsByteArray()))
+                        .isEqualTo(afterDelete.body()));
+        mockMvc.perform(get("/countries").param("region", "Africa"))
+                .andExpect(jsonPath("$[*].name").value(contains("Ghana")))
+                .andExpect(jsonPath("$[0].capital").value("Accra"));
+
+        refresh(CHANGED_COUNTRIES);
+        assertThat(cachedAfrica()).isNotSameAs(afterDelete);
+        mockMvc.perform(get("/countries").param("region", "Africa"))
+                .andExpect(jsonPath("$[*].name").value(containsInAnyOrder("Nigeria", "Ghana")))
+                .andExpect(jsonPath("$[?(@.name == 'Ghana')].capital").value("Kumasi"));
+    }
+
+    @Test
+    void unknownFiltersStayUncachedAndAFullCacheDropsTheLeastRecentlyUsedEntry() {
+        CachedResponse unknownRegion = countryResponseCache.getCountries("Atlantis", null, null, null, null,
+                ResponseFormat.JSON).orElseThrow();
+        assertThat(countryResponseCache.getCountries("Atlantis", null, null, null, null, ResponseFormat.JSON))
+                .get().isNotSameAs(unknownRegion);
+
+        // Every field selection is a distinct key, so this goes well past the 512 entries the cache holds
+        CachedResponse africa = cachedAfrica();
+        CachedResponse firstSelection = withFields(1);
+        CachedResponse lastSelection = null;
+        for (int mask = 2; mask <= 600; mask++) {
+            lastSelection = withFields(mask);
+            assertThat(cachedAfrica()).isSameAs(africa);
+        }
+
+        assertThat(withFields(600)).isSameAs(lastSelection);
+        assertThat(withFields(1)).isNotSameAs(firstSelection);
+    }
+
+    private CachedResponse withFields(int mask) {
+        EnumSet<CountryField> fields = EnumSet.noneOf(CountryField.class);
+        for (CountryField field : CountryField.values()) {
+            if ((mask & (1 << field.ordinal())) != 0) {
+                fields.add(field);
+            }
+        }
+        return countryResponseCache.getCountries(null, null, null, null, fields, ResponseFormat.JSON).orElseThrow();
+    }
+
+    private CachedResponse cachedAfrica() {
+        return countryResponseCache.getCountries("Africa", null, null, null, null, ResponseFormat.JSON).orElseThrow();
+    }
+
+    private void refresh(String countries) {
+        server.reset();
+        server.expect(ExpectedCount.once(), requestTo("http://localhost:0/rates"))
+                .andRespond(withSuccess(RATES, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo("http://localhost:0/countries"))
+                .andRespond(withSuccess(countries, MediaType.APPLICATION_JSON));
+        countryService.refreshCountries(RefreshProgress.NONE);
+        server.verify();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package dev.slethware.countriesapi.controller.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveCountryRoutesTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void servesReadEndpointsThroughWebFlux() {
+        assertThat(applicationContext).isInstanceOf(ReactiveWebServerApplicationContext.class);
+        assertThat(((ReactiveWebServerApplicationContext) applicationContext).getWebServer())
+                .isInstanceOf(NettyWebServer.class);
+
+        webTestClient.get().uri("/status")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.total_countries").isEqualTo(0);
+
+        webTestClient.get().uri("/countries?region=Africa")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+    }
+
+    @Test
+    void mapsErrorsToTheServletStackBodies() {
+        webTestClient.get().uri("/countries/Atlantis")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.error").isEqualTo("Country not found");
+
+        webTestClient.get().uri("/countries/top?n=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Validation failed");
+
+        webTestClient.get().uri("/countries?limit=ten")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Validation failed");
+    }
+}
\ No newline at end of file
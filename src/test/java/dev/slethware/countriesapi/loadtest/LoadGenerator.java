@@ -0,0 +1,123 @@
+package dev.slethware.countriesapi.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator for comparing the servlet and reactive stacks.
+ * Each of {@code concurrency} virtual threads keeps one request in flight, cycling through
+ * the given paths, and the run reports throughput and latency percentiles.
+ *
+ * <pre>
+ * LoadGenerator &lt;baseUrl&gt; &lt;concurrency&gt; &lt;seconds&gt; [path ...]
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private static final List<String> DEFAULT_PATHS = List.of(
+            "/countries", "/countries?region=Africa&sort=gdp_desc", "/countries/Nigeria", "/status");
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadGenerator <baseUrl> <concurrency> <seconds> [path ...]");
+            System.exit(1);
+        }
+        String baseUrl = args[0];
+        int concurrency = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        List<String> paths = args.length > 3 ? Arrays.asList(args).subList(3, args.length) : DEFAULT_PATHS;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<HttpRequest> requests = paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).build())
+                .toList();
+
+        // Warm up the connections and the server's JIT before measuring
+        run(client, requests, concurrency, Duration.ofSeconds(Math.min(5, duration.toSeconds())));
+        Result result = run(client, requests, concurrency, duration);
+
+        System.out.printf("%s, concurrency %d, %ds%n", baseUrl, concurrency, duration.toSeconds());
+        System.out.printf("  requests %d, errors %d, throughput %.0f req/s%n",
+                result.latencies.length, result.errors, result.latencies.length / (double) duration.toSeconds());
+        System.out.printf("  latency ms  p50 %.2f  p90 %.2f  p99 %.2f  max %.2f%n",
+                result.percentile(0.50), result.percentile(0.90), result.percentile(0.99), result.percentile(1.0));
+    }
+
+    private static Result run(HttpClient client, List<HttpRequest> requests, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Worker>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                int offset = i;
+                futures.add(workers.submit(() -> new Worker().run(client, requests, offset, deadline)));
+            }
+
+            List<long[]> latencies = new ArrayList<>(concurrency);
+            long errors = 0;
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                latencies.add(Arrays.copyOf(worker.latencies, worker.count));
+                errors += worker.errors;
+            }
+            return new Result(latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray(), errors);
+        }
+    }
+
+    private static final class Worker {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        Worker run(HttpClient client, List<HttpRequest> requests, int offset, long deadline) {
+            int next = offset;
+            while (System.nanoTime() < deadline) {
+                HttpRequest request = requests.get(next++ % requests.size());
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 500) {
+                        errors++;
+                        continue;
+                    }
+                } catch (Exception e) {
+                    errors++;
+                    continue;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+            return this;
+        }
+    }
+
+    private record Result(long[] latencies, long errors) {
+
+        double percentile(double quantile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package dev.slethware.countriesapi.repository;
+
+import dev.slethware.countriesapi.models.entity.Country;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CountryRepositoryBatchWriteTest {
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void insertedAndUpdatedRowsCarryDerivedColumns() {
+        Country nigeria = country("Nigeria", "Africa", "NGN", 1600.0);
+        Country antarctica = country("ÅNTARCTICA", "Polar", null, null);
+
+        assertThat(countryRepository.batchInsert(List.of(nigeria, antarctica))).isEqualTo(2);
+
+        Map<String, Country> inserted = countryRepository.loadRowsByNameKey();
+        assertThat(inserted).containsOnlyKeys("nigeria", "åntarctica");
+        assertThat(inserted.values()).allSatisfy(row -> {
+            assertThat(row.getId()).isNotNull();
+            assertThat(row.getContentHash()).isEqualTo(row.computeContentHash());
+        });
+        assertThat(inserted.get("nigeria").getId()).isNotEqualTo(inserted.get("åntarctica").getId());
+
+        Map<String, Object> nigeriaRow = row(inserted.get("nigeria").getId());
+        assertThat(nigeriaRow)
+                .containsEntry("NAME_KEY", "nigeria")
+                .containsEntry("REGION_KEY", "africa")
+                .containsEntry("CURRENCY_KEY", "ngn")
+                .containsEntry("CONTENT_HASH", nigeria.computeContentHash());
+        assertThat(nigeriaRow.get("CREATED_AT")).isNotNull();
+        assertThat(row(inserted.get("åntarctica").getId()))
+                .containsEntry("NAME_KEY", "åntarctica")
+                .containsEntry("NAME_SORT_KEY", "antarctica")
+                .containsEntry("REGION_KEY", "polar")
+                .containsEntry("CURRENCY_KEY", null);
+
+        Country changed = inserted.get("nigeria");
+        String previousHash = changed.getContentHash();
+        changed.setRegion("West Africa");
+        changed.setCurrencyCode("XOF");
+        changed.setExchangeRate(600.0);
+        changed.setLastRefreshedAt(LocalDateTime.now());
+
+        assertThat(countryRepository.batchUpdate(List.of(changed))).isEqualTo(1);
+
+        Map<String, Country> updated = countryRepository.loadRowsByNameKey();
+        assertThat(updated).containsOnlyKeys("nigeria", "åntarctica");
+        Country reread = updated.get("nigeria");
+        assertThat(reread.getId()).isEqualTo(changed.getId());
+        assertThat(reread.getRegion()).isEqualTo("West Africa");
+        assertThat(reread.getExchangeRate()).isEqualTo(600.0);
+        assertThat(reread.getContentHash())
+                .isEqualTo(reread.computeContentHash())
+                .isNotEqualTo(previousHash);
+
+        Map<String, Object> updatedRow = row(changed.getId());
+        assertThat(updatedRow)
+                .containsEntry("REGION_KEY", "west africa")
+                .containsEntry("CURRENCY_KEY", "xof")
+                .containsEntry("CREATED_AT", nigeriaRow.get("CREATED_AT"));
+        assertThat(updated.get("åntarctica").getContentHash()).isEqualTo(inserted.get("åntarctica").getContentHash());
+    }
+
+    private Map<String, Object> row(long id) {
+        return jdbcTemplate.queryForMap(
+                "SELECT name_key, region_key, currency_key, name_sort_key, content_hash, created_at FROM countries WHERE id = ?", id);
+    }
+
+    private static Country country(String name, String region, String currency, Double rate) {
+        Country country = new Country();
+        country.setName(name);
+        country.setRegion(region);
+        country.setPopulation(1_000_000L);
+        country.setCurrencyCode(currency);
+        country.setExchangeRate(rate);
+        country.setEstimatedGdp(rate != null ? 1_000_000.0 / rate : null);
+        country.setLastRefreshedAt(LocalDateTime.now());
+        return country;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package dev.slethware.countriesapi.repository;
+
+import dev.slethware.countriesapi.CountriesApiApplication;
+import dev.slethware.countriesapi.benchmark.BenchmarkData;
+import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.service.country.CountrySort;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered and sorted country queries against the embedded H2 database from the test profile.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CountryRepositoryBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CountryRepository countryRepository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CountriesApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "logging.level.dev.slethware.countriesapi=WARN")
+                .run();
+        countryRepository = context.getBean(CountryRepository.class);
+        countryRepository.batchInsert(BenchmarkData.countries());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Country> allByGdp() {
+        return countryRepository.findCountriesWithFiltersAndSorting(null, null, CountrySort.GDP_DESC.getSort());
+    }
+
+    @Benchmark
+    public List<Country> regionByGdp() {
+        return countryRepository.findCountriesWithFiltersAndSorting("africa", null, CountrySort.GDP_DESC.getSort());
+    }
+
+    @Benchmark
+    public List<Country> currencyByName() {
+        return countryRepository.findCountriesWithFiltersAndSorting(null, "caa", CountrySort.NAME_ASC.getSort());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,210 @@
+package dev.slethware.countriesapi.repository;
+
+import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryAggregateResponse;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import dev.slethware.countriesapi.service.cache.CountrySnapshot;
+import dev.slethware.countriesapi.service.country.AggregateGroup;
+import dev.slethware.countriesapi.service.country.CountryCursor;
+import dev.slethware.countriesapi.service.country.CountryMapper;
+import dev.slethware.countriesapi.service.country.CountryPage;
+import dev.slethware.countriesapi.service.country.CountrySort;
+import dev.slethware.countriesapi.service.country.CountrySpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CountryRepositoryIndexTest {
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        countryRepository.saveAll(List.of(
+                country("Nigeria", "Africa", "NGN", 1600.0, 25_000_000_000.0),
+                country("Ghana", "Africa", "GHS", 12.0, 40_000_000_000.0),
+                country("France", "Europe", "EUR", 0.92, 90_000_000_000.0)
+        ));
+        countryRepository.flush();
+    }
+
+    @Test
+    void nameLookupUsesUniqueNameKeyIndex() {
+        assertThat(explain("SELECT * FROM countries WHERE name_key = 'nigeria'"))
+                .containsIgnoringCase("ux_countries_name_key");
+        assertThat(countryRepository.findByNameKey(Country.normalizeKey("NIGERIA")))
+                .map(Country::getName)
+                .contains("Nigeria");
+    }
+
+    @Test
+    void batchNameLookupProbesNameKeyIndex() {
+        assertThat(explain("SELECT * FROM countries WHERE name_key IN ('nigeria', 'ghana')"))
+                .containsIgnoringCase("ux_countries_name_key");
+        assertThat(countryRepository.findByNameKeyIn(List.of("nigeria", "ghana", "atlantis")))
+                .extracting(Country::getName)
+                .containsExactlyInAnyOrder("Nigeria", "Ghana");
+    }
+
+    @Test
+    void projectionSelectsOnlyRequestedColumns() {
+        List<CountryResponse> rows = countryRepository.findProjected(
+                CountrySpecifications.hasRegionKey("africa"), CountrySort.GDP_DESC.getSort(),
+                EnumSet.of(CountryField.NAME, CountryField.ESTIMATED_GDP), 0);
+
+        assertThat(rows).extracting(CountryResponse::name).containsExactly("Ghana", "Nigeria");
+        assertThat(rows).extracting(CountryResponse::estimatedGdp).containsExactly(40_000_000_000.0, 25_000_000_000.0);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.id()).isNotNull();
+            assertThat(row.region()).isNull();
+            assertThat(row.currencyCode()).isNull();
+        });
+    }
+
+    @Test
+    void groupedTotalsMatchSnapshotAggregates() {
+        CountrySnapshot snapshot = CountrySnapshot.of(1, CountryMapper.toResponseList(countryRepository.findAll()));
+
+        assertThat(countryRepository.aggregateByRegion())
+                .containsExactlyElementsOf(snapshot.aggregates(AggregateGroup.REGION))
+                .extracting(CountryAggregateResponse::group, CountryAggregateResponse::countryCount)
+                .containsExactly(tuple("Africa", 2L), tuple("Europe", 1L));
+        assertThat(countryRepository.aggregateByCurrency())
+                .containsExactlyElementsOf(snapshot.aggregates(AggregateGroup.CURRENCY));
+    }
+
+    @Test
+    void regionFilterUsesRegionKeyIndex() {
+        assertThat(explain("SELECT * FROM countries WHERE region_key = 'africa' ORDER BY estimated_gdp DESC"))
+                .containsIgnoringCase("idx_countries_region_key_gdp");
+        assertThat(countryRepository.findCountriesWithFiltersAndSorting(
+                "africa", null, Sort.by(Sort.Order.desc("estimatedGdp"), Sort.Order.asc("id"))))
+                .extracting(Country::getName)
+                .containsExactly("Ghana", "Nigeria");
+    }
+
+    @Test
+    void currencyFilterUsesCurrencyKeyIndex() {
+        assertThat(explain("SELECT * FROM countries WHERE currency_key = 'eur'"))
+                .containsIgnoringCase("idx_countries_currency_key_gdp");
+    }
+
+    @Test
+    void topByGdpIsBounded() {
+        assertThat(countryRepository.findTopByEstimatedGdp(null, Limit.of(2)))
+                .extracting(Country::getName)
+                .containsExactly("France", "Ghana");
+    }
+
+    @Test
+    void keysetPagesWalkGdpOrderIncludingNullGdp() {
+        Country unknownGdp = country("Atlantis", "Europe", "ATL", 1.0, 0.0);
+        unknownGdp.setEstimatedGdp(null);
+        countryRepository.saveAndFlush(unknownGdp);
+
+        List<String> names = new ArrayList<>();
+        CountryCursor cursor = null;
+        do {
+            List<Country> page = countryRepository.findBy(
+                    CountrySpecifications.after(cursor),
+                    query -> query.sortBy(CountrySort.GDP_DESC.getSort()).limit(2).all());
+            page.forEach(country -> names.add(country.getName()));
+            cursor = page.size() < 2 ? null
+                    : CountryCursor.after(CountrySort.GDP_DESC, CountryMapper.toResponse(page.get(page.size() - 1)));
+        } while (cursor != null);
+
+        assertThat(names).containsExactly("France", "Ghana", "Nigeria", "Atlantis");
+    }
+
+    @Test
+    void snapshotKeysetPagesMatchTheDatabaseForEverySort() {
+        // Ties on GDP and name case, accented names, plus rows without a GDP, on top of the three from setUp
+        Country tiedGdp = country("germany", "Europe", "EUR", 0.92, 90_000_000_000.0);
+        Country noGdp = country("Atlantis", "Europe", "ATL", 1.0, 0.0);
+        noGdp.setEstimatedGdp(null);
+        Country alsoNoGdp = country("Bermuda", "Americas", "BMD", 1.0, 0.0);
+        alsoNoGdp.setEstimatedGdp(null);
+        countryRepository.saveAllAndFlush(List.of(tiedGdp, noGdp, alsoNoGdp,
+                country("Benin", "Africa", "XOF", 600.0, 25_000_000_000.0),
+                country("Åland Islands", "Europe", "EUR", 0.92, 1_000_000_000.0),
+                country("Curaçao", "Americas", "ANG", 1.79, 3_000_000_000.0),
+                country("Cuba", "Americas", "CUP", 24.0, 100_000_000_000.0)));
+
+        CountrySnapshot snapshot = CountrySnapshot.of(1, CountryMapper.toResponseList(countryRepository.findAll()));
+        int limit = 2;
+
+        for (CountrySort sort : CountrySort.values()) {
+            List<Long> walked = new ArrayList<>();
+            CountryCursor cursor = null;
+            do {
+                CountryPage fromSnapshot = snapshot.page(null, null, sort, cursor, limit);
+                CountryPage fromDatabase = databasePage(sort, cursor, limit);
+
+                assertThat(fromSnapshot.countries()).as(sort.name())
+                        .extracting(CountryResponse::id)
+                        .containsExactlyElementsOf(fromDatabase.countries().stream().map(CountryResponse::id).toList());
+                assertThat(fromSnapshot.nextCursor()).as(sort.name()).isEqualTo(fromDatabase.nextCursor());
+
+                fromSnapshot.countries().forEach(country -> walked.add(country.id()));
+                cursor = fromSnapshot.nextCursor() != null ? CountryCursor.decode(fromSnapshot.nextCursor(), sort) : null;
+            } while (cursor != null);
+
+            assertThat(walked).as(sort.name())
+                    .containsExactlyElementsOf(snapshot.find(null, null, sort).stream().map(CountryResponse::id).toList())
+                    .hasSize(10);
+        }
+
+        // Accents are folded for ordering, so these sort among the unaccented names on both paths
+        assertThat(snapshot.find(null, null, CountrySort.NAME_ASC)).extracting(CountryResponse::name)
+                .containsExactly("Åland Islands", "Atlantis", "Benin", "Bermuda", "Cuba", "Curaçao", "France",
+                        "germany", "Ghana", "Nigeria");
+    }
+
+    // Same keyset query and cursor rule as the service's database fallback
+    private CountryPage databasePage(CountrySort sort, CountryCursor after, int limit) {
+        List<CountryResponse> rows = CountryMapper.toResponseList(countryRepository.findBy(
+                CountrySpecifications.after(after),
+                query -> query.sortBy(sort.getSort()).limit(limit + 1).all()));
+        if (rows.size() <= limit) {
+            return new CountryPage(rows, null);
+        }
+        List<CountryResponse> countries = rows.subList(0, limit);
+        return new CountryPage(countries, CountryCursor.after(sort, countries.get(limit - 1)).encode());
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    private static Country country(String name, String region, String currency, double rate, double gdp) {
+        Country country = new Country();
+        country.setName(name);
+        country.setRegion(region);
+        country.setPopulation(1_000_000L);
+        country.setCurrencyCode(currency);
+        country.setExchangeRate(rate);
+        country.setEstimatedGdp(gdp);
+        country.setLastRefreshedAt(LocalDateTime.now());
+        return country;
+    }
+}
\ No newline at end of file
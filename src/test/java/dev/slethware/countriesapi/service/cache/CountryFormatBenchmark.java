@@ -0,0 +1,39 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.benchmark.BenchmarkData;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the full country list in each response format; payload sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CountryFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    private ResponseFormat format;
+
+    private ResponseEncoder encoder;
+    private List<CountryResponse> countries;
+
+    @Setup
+    public void setUp() throws IOException {
+        encoder = new ResponseEncoder(Jackson2ObjectMapperBuilder.json().build());
+        countries = BenchmarkData.responses();
+        System.out.printf("%n%s payload: %d bytes%n", format, encoder.encode(countries, null, format).length);
+    }
+
+    @Benchmark
+    public byte[] serializeCountries() throws IOException {
+        return encoder.encode(countries, null, format);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package dev.slethware.countriesapi.service.cache;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import dev.slethware.countriesapi.models.response.CountryField;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountryProtobufTest {
+
+    private static final CountryResponse GHANA = new CountryResponse(7L, "Ghana", "Accra", "Africa", 31_072_940L,
+            "GHS", 10.5, 4.2e9, null, LocalDateTime.of(2025, 10, 22, 18, 0));
+
+    @Test
+    void encodesCountryListMatchingTheSchema() throws IOException {
+        CodedInputStream list = CodedInputStream.newInstance(CountryProtobuf.encodeCountries(List.of(GHANA), null));
+
+        int tag = list.readTag();
+        assertThat(WireFormat.getTagFieldNumber(tag)).isEqualTo(1);
+        assertThat(WireFormat.getTagWireType(tag)).isEqualTo(WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        Map<Integer, Object> country = decodeCountry(list.readByteArray());
+        assertThat(list.isAtEnd()).isTrue();
+
+        // flag_url (9) is null, so it is left out
+        assertThat(country).containsExactly(
+                Map.entry(1, 7L),
+                Map.entry(2, "Ghana"),
+                Map.entry(3, "Accra"),
+                Map.entry(4, "Africa"),
+                Map.entry(5, 31_072_940L),
+                Map.entry(6, "GHS"),
+                Map.entry(7, 10.5),
+                Map.entry(8, 4.2e9),
+                Map.entry(10, "2025-10-22T18:00:00"));
+    }
+
+    @Test
+    void writesOnlySelectedFields() throws IOException {
+        byte[] encoded = CountryProtobuf.encodeCountry(GHANA, EnumSet.of(CountryField.NAME, CountryField.ESTIMATED_GDP));
+
+        assertThat(decodeCountry(encoded)).containsExactly(Map.entry(2, "Ghana"), Map.entry(8, 4.2e9));
+    }
+
+    private static Map<Integer, Object> decodeCountry(byte[] bytes) throws IOException {
+        CodedInputStream in = CodedInputStream.newInstance(bytes);
+        Map<Integer, Object> fields = new LinkedHashMap<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            int number = WireFormat.getTagFieldNumber(tag);
+            Object value = switch (WireFormat.getTagWireType(tag)) {
+                case WireFormat.WIRETYPE_VARINT -> in.readInt64();
+                case WireFormat.WIRETYPE_FIXED64 -> in.readDouble();
+                default -> in.readString();
+            };
+            fields.put(number, value);
+        }
+        return fields;
+    }
+}
\ No newline at end of file
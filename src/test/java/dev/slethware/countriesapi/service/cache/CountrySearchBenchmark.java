@@ -0,0 +1,37 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.benchmark.BenchmarkData;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete lookups against the snapshot's search index: a prefix hit and a misspelling
+ * that needs the fuzzy fallback.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CountrySearchBenchmark {
+
+    private CountrySnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        snapshot = CountrySnapshot.of(1, BenchmarkData.responses());
+    }
+
+    @Benchmark
+    public List<CountryResponse> prefix() {
+        return snapshot.search("country 1", 10);
+    }
+
+    @Benchmark
+    public List<CountryResponse> typo() {
+        return snapshot.search("cuontry 12", 10);
+    }
+}
\ No newline at end of file
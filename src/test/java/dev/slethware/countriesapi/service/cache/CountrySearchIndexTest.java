@@ -0,0 +1,53 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountrySearchIndexTest {
+
+    private static final CountrySearchIndex INDEX = new CountrySearchIndex(List.of(
+            country(1L, "United Kingdom", "London", 67_000_000L),
+            country(2L, "United States", "Washington, D.C.", 331_000_000L),
+            country(3L, "Côte d'Ivoire", "Yamoussoukro", 26_000_000L),
+            country(4L, "Ukraine", "Kyiv", 41_000_000L),
+            country(5L, "Kyrgyzstan", "Bishkek", 6_700_000L)
+    ), 50);
+
+    @Test
+    void matchesNamePrefixesMostPopulousFirst() {
+        assertThat(names(INDEX.search("UNITED", 10))).containsExactly("United States", "United Kingdom");
+        assertThat(names(INDEX.search("u", 3))).containsExactly("United States", "United Kingdom", "Ukraine");
+    }
+
+    @Test
+    void matchesLaterWordsAndCapitalsAfterNames() {
+        // Kyrgyzstan starts with "ky"; Ukraine only through its capital
+        assertThat(names(INDEX.search("ky", 10))).containsExactly("Kyrgyzstan", "Ukraine");
+        assertThat(names(INDEX.search("kingdom", 10))).containsExactly("United Kingdom");
+        assertThat(names(INDEX.search("ivoire", 10))).containsExactly("Côte d'Ivoire");
+    }
+
+    @Test
+    void ignoresAccents() {
+        assertThat(names(INDEX.search("cote", 10))).containsExactly("Côte d'Ivoire");
+    }
+
+    @Test
+    void fallsBackToTypoTolerantMatches() {
+        assertThat(names(INDEX.search("ukriane", 10))).containsExactly("Ukraine");
+        assertThat(names(INDEX.search("londn", 10))).containsExactly("United Kingdom");
+        assertThat(names(INDEX.search("zz", 10))).isEmpty();
+    }
+
+    private static List<String> names(List<CountryResponse> countries) {
+        return countries.stream().map(CountryResponse::name).toList();
+    }
+
+    private static CountryResponse country(Long id, String name, String capital, Long population) {
+        return new CountryResponse(id, name, capital, "Somewhere", population, null, null, null, null, null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CrossRateTableTest {
+
+    @Test
+    void convertsUsdFiguresIntoBaseCurrency() {
+        CrossRateTable table = CrossRateTable.of(Map.of("NGN", 1600.0, "EUR", 0.8));
+        CountryResponse nigeria = new CountryResponse(1L, "Nigeria", "Abuja", "Africa", 200L,
+                "NGN", 1600.0, 1_000.0, null, null);
+
+        CountryResponse inEuro = table.convert(nigeria, table.ordinal("eur"));
+
+        assertThat(inEuro.estimatedGdp()).isCloseTo(800.0, within(1e-9));
+        assertThat(inEuro.exchangeRate()).isCloseTo(2000.0, within(1e-9));
+        assertThat(table.convert(nigeria, table.ordinal("USD"))).isEqualTo(nigeria);
+        assertThat(table.ordinal("XXX")).isEqualTo(-1);
+    }
+}
\ No newline at end of file
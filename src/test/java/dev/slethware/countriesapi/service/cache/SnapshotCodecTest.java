@@ -0,0 +1,44 @@
+package dev.slethware.countriesapi.service.cache;
+
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotCodecTest {
+
+    private static final StoredDataset DATASET = new StoredDataset(
+            LocalDateTime.of(2025, 10, 22, 18, 0, 5, 123_000_000),
+            List.of(
+                    new CountryResponse(1L, "Côte d'Ivoire", "Yamoussoukro", "Africa", 26_378_275L, "XOF",
+                            604.27, 6.5e10, "https://flagcdn.com/ci.svg", LocalDateTime.of(2025, 10, 22, 18, 0)),
+                    new CountryResponse(2L, "Antarctica", null, "Polar", 1000L, null,
+                            null, 0.0, null, null)
+            ),
+            Map.of("USD", 1.0, "XOF", 604.27)
+    );
+
+    @Test
+    void roundTripsCountriesAndRatesIncludingNulls() throws IOException {
+        StoredDataset decoded = SnapshotCodec.decode(ByteBuffer.wrap(SnapshotCodec.encode(DATASET)));
+
+        assertThat(decoded).isEqualTo(DATASET);
+    }
+
+    @Test
+    void rejectsTruncatedSnapshots() throws IOException {
+        byte[] encoded = SnapshotCodec.encode(DATASET);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 5);
+
+        assertThatThrownBy(() -> SnapshotCodec.decode(ByteBuffer.wrap(truncated)))
+                .isInstanceOf(IOException.class);
+    }
+}
\ No newline at end of file
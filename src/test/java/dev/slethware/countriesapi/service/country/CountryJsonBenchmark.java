@@ -0,0 +1,36 @@
+package dev.slethware.countriesapi.service.country;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.slethware.countriesapi.benchmark.BenchmarkData;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the full country list with the same mapper configuration Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CountryJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private List<CountryResponse> countries;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        countries = BenchmarkData.responses();
+    }
+
+    @Benchmark
+    public byte[] serializeCountries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(countries);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,205 @@
+package dev.slethware.countriesapi.service.country;
+
+import dev.slethware.countriesapi.service.cache.CountryCache;
+import dev.slethware.countriesapi.service.cache.CountrySnapshot;
+import dev.slethware.countriesapi.service.cache.SnapshotFileStore;
+import dev.slethware.countriesapi.service.http.HttpClientService;
+import dev.slethware.countriesapi.service.image.ImageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+// Image rendering and the snapshot file are mocked out so refreshes leave nothing in cache/
+@SpringBootTest
+class CountryRefreshTest {
+
+    private static final String RATES = """
+            {"result": "success", "base_code": "USD", "rates": {"USD": 1, "NGN": 1600.0, "GHS": 12.0, "EUR": 0.92, "KES": 130.0}}
+            """;
+    private static final String COUNTRIES = """
+            [{"name": "Nigeria", "capital": "Abuja", "region": "Africa", "population": 206139589, "currencies": [{"code": "NGN"}]},
+             {"name": "Ghana", "capital": "Accra", "region": "Africa", "population": 31072940, "currencies": [{"code": "GHS"}]},
+             {"name": "France", "capital": "Paris", "region": "Europe", "population": 67391582, "currencies": [{"code": "EUR"}]}]
+            """;
+    private static final String CHANGED_COUNTRIES = """
+            [{"name": "Nigeria", "capital": "Abuja", "region": "Africa", "population": 206139589, "currencies": [{"code": "NGN"}]},
+             {"name": "Ghana", "capital": "Kumasi", "region": "Africa", "population": 31072940, "currencies": [{"code": "GHS"}]},
+             {"name": "France", "capital": "Paris", "region": "Europe", "population": 67391582, "currencies": [{"code": "EUR"}]},
+             {"name": "Kenya", "capital": "Nairobi", "region": "Africa", "population": 53771296, "currencies": [{"code": "KES"}]}]
+            """;
+
+    @MockitoBean
+    private ImageService imageService;
+
+    @MockitoBean
+    private SnapshotFileStore snapshotFileStore;
+
+    @Autowired
+    private CountryService countryService;
+
+    @Autowired
+    private CountryCache countryCache;
+
+    @Autowired
+    private HttpClientService httpClientService;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        // The two sources are fetched concurrently, so their requests may arrive in either order
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        httpClientService.resetValidators();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM countries");
+    }
+
+    @Test
+    void countsInsertedUpdatedAndUnchangedRowsAndBumpsTheRefreshTime() {
+        expect(RATES, COUNTRIES);
+        RecordingProgress first = refresh();
+        assertThat(first.counts()).containsExactly(3, 0, 0);
+        LocalDateTime firstRefresh = refreshedAt("nigeria");
+
+        // Same rates, one changed country and one new one
+        expect(RATES, CHANGED_COUNTRIES);
+        RecordingProgress second = refresh();
+        assertThat(second.counts()).containsExactly(1, 1, 2);
+        LocalDateTime secondRefresh = refreshedAt("nigeria");
+        assertThat(secondRefresh).isAfter(firstRefresh);
+        assertThat(countryCache.getSnapshot()).map(CountrySnapshot::getLastRefreshedAt).contains(secondRefresh);
+
+        // Byte-identical payloads skip processing, but still record that the data was confirmed current
+        expect(RATES, CHANGED_COUNTRIES);
+        assertThat(countryService.refreshCountries(RefreshProgress.NONE)).contains("already up to date");
+        assertThat(refreshedAt("nigeria")).isAfter(secondRefresh);
+        assertThat(countryCache.getSnapshot()).map(CountrySnapshot::getLastRefreshedAt)
+                .contains(refreshedAt("nigeria"));
+        assertThat(countryService.getStatus().totalCountries()).isEqualTo(4);
+    }
+
+    @Test
+    void rolledBackRefreshMakesTheNextFetchUnconditional() {
+        server.expect(ExpectedCount.once(), requestTo("http://localhost:0/rates"))
+                .andRespond(withSuccess(RATES, MediaType.APPLICATION_JSON).headers(etag("\"rates-v1\"")));
+        server.expect(ExpectedCount.once(), requestTo("http://localhost:0/countries"))
+                .andRespond(withSuccess(COUNTRIES, MediaType.APPLICATION_JSON).headers(etag("\"countries-v1\"")));
+        refresh();
+
+        // The currency code overflows its column, so the write fails after both payloads were accepted
+        server.reset();
+        server.expect(ExpectedCount.once(), requestTo("http://localhost:0/rates"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"rates-v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+        server.expect(ExpectedCount.once(), requestTo("http://localhost:0/countries"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"countries-v1\""))
+                .andRespond(withSuccess(CHANGED_COUNTRIES.replace("KES", "KENYA-SHILLING"), MediaType.APPLICATION_JSON)
+                        .headers(etag("\"countries-v2\"")));
+        assertThatThrownBy(() -> countryService.refreshCountries(RefreshProgress.NONE))
+                .isInstanceOf(DataAccessException.class);
+        server.verify();
+
+        server.reset();
+        server.expect(ExpectedCount.once(), requestTo("http://localhost:0/rates"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(RATES, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo("http://localhost:0/countries"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(CHANGED_COUNTRIES, MediaType.APPLICATION_JSON));
+        assertThat(refresh().counts()).containsExactly(1, 1, 2);
+    }
+
+    @Test
+    void rolledBackRefreshLeavesTheSnapshotPricedWithTheCommittedRates() {
+        expect(RATES, COUNTRIES);
+        refresh();
+
+        // New rates are fetched and accepted, then the write fails and the transaction rolls back
+        expect(RATES.replace("1600.0", "2000.0"), CHANGED_COUNTRIES.replace("KES", "KENYA-SHILLING"));
+        assertThatThrownBy(() -> countryService.refreshCountries(RefreshProgress.NONE))
+                .isInstanceOf(DataAccessException.class);
+        assertThat(snapshotRate("NGN")).isEqualTo(1600.0);
+
+        // A delete rebuilds the snapshot without a fetch; it must keep the rates the rows were written with
+        countryService.deleteCountry("France");
+        assertThat(countryCache.getSnapshot()).map(CountrySnapshot::size).contains(2);
+        assertThat(snapshotRate("NGN")).isEqualTo(1600.0);
+        assertThat(countryService.getCountryByName("Nigeria", "NGN", null).estimatedGdp())
+                .isEqualTo(countryService.getCountryByName("Nigeria", null, null).estimatedGdp() * 1600.0);
+    }
+
+    private Double snapshotRate(String currency) {
+        return countryCache.getSnapshot().orElseThrow().getExchangeRates().get(currency);
+    }
+
+    private void expect(String rates, String countries) {
+        server.reset();
+        server.expect(ExpectedCount.once(), requestTo("http://localhost:0/rates"))
+                .andRespond(withSuccess(rates, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo("http://localhost:0/countries"))
+                .andRespond(withSuccess(countries, MediaType.APPLICATION_JSON));
+    }
+
+    private RecordingProgress refresh() {
+        RecordingProgress progress = new RecordingProgress();
+        countryService.refreshCountries(progress);
+        server.verify();
+        return progress;
+    }
+
+    private static HttpHeaders etag(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        return headers;
+    }
+
+    private LocalDateTime refreshedAt(String nameKey) {
+        return jdbcTemplate.queryForObject("SELECT last_refreshed_at FROM countries WHERE name_key = ?",
+                Timestamp.class, nameKey).toLocalDateTime();
+    }
+
+    private static final class RecordingProgress implements RefreshProgress {
+
+        private volatile int[] counts;
+
+        @Override
+        public void rowsWritten(int inserted, int updated, int unchanged) {
+            counts = new int[]{inserted, updated, unchanged};
+        }
+
+        int[] counts() {
+            return counts;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package dev.slethware.countriesapi.service.country;
+
+import dev.slethware.countriesapi.benchmark.BenchmarkData;
+import dev.slethware.countriesapi.models.dto.CountryApiResponse;
+import dev.slethware.countriesapi.models.entity.Country;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh and read hot paths: building entities from upstream data and mapping them to responses.
+ * Each operation covers a full upstream payload.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CountryServiceBenchmark {
+
+    private CountryServiceImpl service;
+    private List<CountryApiResponse> upstreamCountries;
+    private Map<String, Double> exchangeRates;
+    private List<Country> countries;
+
+    @Setup
+    public void setUp() {
+        // Only the pure processing methods are exercised, so no collaborators are needed
+        service = new CountryServiceImpl(null, null, null, null, null, null, null);
+        upstreamCountries = BenchmarkData.upstreamCountries();
+        exchangeRates = BenchmarkData.exchangeRates();
+        countries = BenchmarkData.countries();
+    }
+
+    @Benchmark
+    public void processCountries(Blackhole blackhole) {
+        for (CountryApiResponse response : upstreamCountries) {
+            blackhole.consume(service.processCountry(response, exchangeRates));
+        }
+    }
+
+    @Benchmark
+    public void calculateEstimatedGdp(Blackhole blackhole) {
+        for (Country country : countries) {
+            blackhole.consume(service.calculateEstimatedGdp(country.getPopulation(), country.getExchangeRate()));
+        }
+    }
+
+    @Benchmark
+    public List<CountryResponse> toResponseList() {
+        return CountryMapper.toResponseList(countries);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package dev.slethware.countriesapi.service.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.slethware.countriesapi.models.dto.CountryApiResponse;
+import dev.slethware.countriesapi.models.dto.CurrencyDto;
+import dev.slethware.countriesapi.models.dto.ExchangeRateApiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class HttpClientServiceTest {
+
+    private static final String COUNTRIES_URL = "http://upstream/countries";
+    private static final String RATES_URL = "http://upstream/rates";
+
+    // Unused fields, nested objects and arrays sit before, between and inside the kept ones
+    private static final String COUNTRIES = """
+            [
+              {"translations": {"de": "Nigeria", "alt": [{"x": 1}, [2, 3]]}, "name": "Nigeria",
+               "capital": "Abuja", "borders": ["BEN", "CMR"], "region": "Africa", "population": 206139589,
+               "currencies": [{"name": "Naira", "meta": {"symbols": ["₦", {"x": null}]}, "code": "NGN"},
+                              {"code": "USD"}],
+               "flag": "https://flagcdn.com/ng.svg"},
+              {"name": "Antarctica", "capital": null, "region": "Polar", "population": null, "currencies": []},
+              {"name": "Atlantis", "latlng": [1.5, -2.5], "currencies": "ATL", "population": "unknown"},
+              {"name": "Lemuria", "currencies": {"code": "LEM"}, "capital": "Lemur"},
+              {"name": "Mu", "currencies": [[{"code": "NESTED"}], {"code": "SECOND"}], "region": "Pacific"}
+            ]
+            """;
+
+    private static final String RATES = """
+            {"result": "success", "base_code": "USD", "rates": {"USD": 1, "NGN": 1600.0}}
+            """;
+    private static final String ETAG = "\"rates-v1\"";
+    private static final String LAST_MODIFIED = "Wed, 15 Oct 2025 07:28:00 GMT";
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+    private HttpClientService httpClientService;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        httpClientService = new HttpClientService(restTemplate, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(httpClientService, "countriesApiUrl", COUNTRIES_URL);
+        ReflectionTestUtils.setField(httpClientService, "exchangeRateApiUrl", RATES_URL);
+    }
+
+    @Test
+    void streamsOnlyTheKeptFieldsOfEachCountry() {
+        server.expect(requestTo(COUNTRIES_URL)).andRespond(withSuccess(COUNTRIES, MediaType.APPLICATION_JSON));
+
+        List<CountryApiResponse> countries = new ArrayList<>();
+        FetchResult<Integer> result = httpClientService.fetchAllCountries(false, countries::add);
+
+        assertThat(result.modified()).isTrue();
+        assertThat(result.body()).isEqualTo(5);
+        assertThat(countries)
+                .extracting(CountryApiResponse::getName, CountryApiResponse::getCapital, CountryApiResponse::getRegion,
+                        CountryApiResponse::getPopulation, CountryApiResponse::getFlag)
+                .containsExactly(
+                        tuple("Nigeria", "Abuja", "Africa", 206139589L, "https://flagcdn.com/ng.svg"),
+                        tuple("Antarctica", null, "Polar", null, null),
+                        tuple("Atlantis", null, null, null, null),
+                        tuple("Lemuria", "Lemur", null, null, null),
+                        tuple("Mu", null, "Pacific", null, null));
+
+        // Only the first currency's code is kept; empty, scalar, object or non-object entries give none
+        assertThat(countries.get(0).getCurrencies()).containsExactly(new CurrencyDto("NGN", null, null));
+        assertThat(countries.subList(1, 5)).allSatisfy(country -> assertThat(country.getCurrencies()).isEmpty());
+        server.verify();
+    }
+
+    @Test
+    void sendsStoredValidatorsAndReusesTheLastBodyOn304() {
+        server.expect(requestTo(RATES_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(RATES, MediaType.APPLICATION_JSON).headers(validators()));
+        server.expect(requestTo(RATES_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(header(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        FetchResult<ExchangeRateApiResponse> first = httpClientService.fetchExchangeRates();
+        FetchResult<ExchangeRateApiResponse> second = httpClientService.fetchExchangeRates();
+
+        assertThat(first.modified()).isTrue();
+        assertThat(second.modified()).isFalse();
+        assertThat(second.body()).isSameAs(first.body());
+        server.verify();
+    }
+
+    @Test
+    void treatsAByteIdenticalBodyAsNotModified() {
+        // No validators at all, so only the content hash can tell the payloads apart
+        server.expect(requestTo(RATES_URL)).andRespond(withSuccess(RATES, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(RATES_URL)).andRespond(withSuccess(RATES, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(COUNTRIES_URL)).andRespond(withSuccess(COUNTRIES, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(COUNTRIES_URL)).andRespond(withSuccess(COUNTRIES, MediaType.APPLICATION_JSON));
+
+        FetchResult<ExchangeRateApiResponse> first = httpClientService.fetchExchangeRates();
+        FetchResult<ExchangeRateApiResponse> second = httpClientService.fetchExchangeRates();
+        assertThat(second.modified()).isFalse();
+        assertThat(second.body()).isSameAs(first.body());
+
+        assertThat(httpClientService.fetchAllCountries(true, country -> { }).modified()).isTrue();
+        assertThat(httpClientService.fetchAllCountries(true, country -> { }).modified()).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void resetValidatorsMakesTheNextFetchUnconditional() {
+        server.expect(requestTo(RATES_URL))
+                .andRespond(withSuccess(RATES, MediaType.APPLICATION_JSON).headers(validators()));
+        server.expect(requestTo(RATES_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_MODIFIED_SINCE))
+                .andRespond(withSuccess(RATES, MediaType.APPLICATION_JSON));
+
+        httpClientService.fetchExchangeRates();
+        httpClientService.resetValidators();
+
+        // Without the stored hash the same body counts as new again
+        assertThat(httpClientService.fetchExchangeRates().modified()).isTrue();
+        server.verify();
+    }
+
+    private static HttpHeaders validators() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(ETAG);
+        headers.set(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED);
+        return headers;
+    }
+}
\ No newline at end of file
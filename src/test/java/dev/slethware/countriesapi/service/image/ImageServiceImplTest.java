@@ -0,0 +1,63 @@
+package dev.slethware.countriesapi.service.image;
+
+import dev.slethware.countriesapi.exception.BadRequestException;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageServiceImplTest {
+
+    private final ImageServiceImpl imageService = new ImageServiceImpl();
+    private final List<CountryResponse> top = LongStream.rangeClosed(1, 20)
+            .mapToObj(id -> new CountryResponse(id, "Country " + id, null, null, 1_000L, "USD", 1.0,
+                    1_000_000.0 / id, null, null))
+            .toList();
+
+    @Test
+    void keepsTheAspectRatioWhenOneDimensionIsGiven() throws IOException {
+        BufferedImage image = read(render(ImageVariant.of(400, null, null, null)));
+        assertThat(image.getWidth()).isEqualTo(400);
+        assertThat(image.getHeight()).isEqualTo(300);
+
+        // Ten rows need a taller layout than the default five
+        BufferedImage tall = read(render(ImageVariant.of(null, null, null, 10)));
+        assertThat(tall.getWidth()).isEqualTo(800);
+        assertThat(tall.getHeight()).isEqualTo(ImageServiceImpl.layoutHeight(10)).isGreaterThan(600);
+    }
+
+    @Test
+    void fitsBothDimensionsAndEncodesTheRequestedFormat() throws IOException {
+        byte[] jpeg = render(ImageVariant.of(300, 300, "JPEG", 3));
+        assertThat(jpeg).startsWith(0xFF, 0xD8);
+
+        BufferedImage image = read(jpeg);
+        assertThat(image.getWidth()).isEqualTo(300);
+        assertThat(image.getHeight()).isEqualTo(300);
+    }
+
+    @Test
+    void rejectsInvalidVariants() {
+        assertThat(ImageVariant.of(null, null, null, null)).isNull();
+        assertThatThrownBy(() -> ImageVariant.of(5000, null, null, null)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> ImageVariant.of(null, null, "gif2", null)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> ImageVariant.of(null, null, null, 0)).isInstanceOf(BadRequestException.class);
+    }
+
+    private byte[] render(ImageVariant variant) {
+        return imageService.renderSummaryImage(top.subList(0, variant.top()), 250, LocalDateTime.now(), variant);
+    }
+
+    private static BufferedImage read(byte[] bytes) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+}
\ No newline at end of file
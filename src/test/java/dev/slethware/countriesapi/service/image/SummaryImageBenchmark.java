@@ -0,0 +1,50 @@
+package dev.slethware.countriesapi.service.image;
+
+import dev.slethware.countriesapi.benchmark.BenchmarkData;
+import dev.slethware.countriesapi.models.response.CountryResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary image cost, split into drawing and PNG encoding.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SummaryImageBenchmark {
+
+    private ImageServiceImpl imageService;
+    private List<CountryResponse> topCountries;
+    private LocalDateTime lastRefreshedAt;
+    private BufferedImage drawn;
+
+    @Setup
+    public void setUp() {
+        imageService = new ImageServiceImpl();
+        topCountries = BenchmarkData.responses().subList(0, ImageServiceImpl.TOP_COUNTRIES);
+        lastRefreshedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        drawn = imageService.draw(topCountries, BenchmarkData.COUNTRY_COUNT, lastRefreshedAt);
+    }
+
+    @Benchmark
+    public BufferedImage draw() {
+        return imageService.draw(topCountries, BenchmarkData.COUNTRY_COUNT, lastRefreshedAt);
+    }
+
+    @Benchmark
+    public byte[] encodePng() throws IOException {
+        return ImageServiceImpl.encodePng(drawn);
+    }
+
+    @Benchmark
+    public byte[] drawAndEncode() throws IOException {
+        return ImageServiceImpl.encodePng(imageService.draw(topCountries, BenchmarkData.COUNTRY_COUNT, lastRefreshedAt));
+    }
+}
\ No newline at end of file
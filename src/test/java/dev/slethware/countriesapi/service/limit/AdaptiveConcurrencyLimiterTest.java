@@ -0,0 +1,56 @@
+package dev.slethware.countriesapi.service.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void rejectsOnceLimitAndQueueAreFull() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1,
+                Duration.ofSeconds(5), Duration.ofSeconds(1));
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+
+        // The second caller waits in the queue, the third finds it full
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> queued = CompletableFuture.supplyAsync(limiter::acquire);
+        while (limiter.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+        assertThat(limiter.acquire()).isNull();
+        assertThat(limiter.tryAcquire()).isNull();
+
+        first.release();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void queuedCallersGiveUpAfterTheTimeout() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 10,
+                Duration.ofMillis(50), Duration.ofSeconds(1));
+        limiter.acquire();
+
+        assertThat(limiter.acquire()).isNull();
+    }
+
+    @Test
+    void growsWhileBusyAndFastAndShrinksOnSlowRequests() {
+        AdaptiveConcurrencyLimiter fast = new AdaptiveConcurrencyLimiter(2, 1, 10, 0,
+                Duration.ZERO, Duration.ofSeconds(10));
+        fast.acquire().release();
+        assertThat(fast.getLimit()).isEqualTo(3);
+
+        // A zero latency target makes every request slow
+        AdaptiveConcurrencyLimiter slow = new AdaptiveConcurrencyLimiter(10, 2, 10, 0,
+                Duration.ZERO, Duration.ZERO);
+        for (int i = 0; i < 30; i++) {
+            slow.acquire().release();
+        }
+        assertThat(slow.getLimit()).isEqualTo(2);
+        assertThat(slow.getInFlight()).isZero();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package dev.slethware.countriesapi.service.limit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointClassTest {
+
+    @Test
+    void deletesAreWritesAndLookupsAreReads() {
+        assertThat(EndpointClass.of(HttpMethod.GET, "/countries/Nigeria")).isEqualTo(EndpointClass.READS);
+        assertThat(EndpointClass.of(HttpMethod.HEAD, "/countries")).isEqualTo(EndpointClass.READS);
+        assertThat(EndpointClass.of(HttpMethod.GET, "/status")).isEqualTo(EndpointClass.READS);
+        assertThat(EndpointClass.of(HttpMethod.POST, "/countries/lookup")).isEqualTo(EndpointClass.READS);
+
+        assertThat(EndpointClass.of(HttpMethod.DELETE, "/countries/Nigeria")).isEqualTo(EndpointClass.WRITES);
+        assertThat(EndpointClass.of(HttpMethod.PUT, "/countries/Nigeria")).isEqualTo(EndpointClass.WRITES);
+
+        assertThat(EndpointClass.of(HttpMethod.POST, "/countries/refresh")).isEqualTo(EndpointClass.REFRESH);
+        assertThat(EndpointClass.of(HttpMethod.POST, "/countries/refresh/rates")).isEqualTo(EndpointClass.REFRESH);
+        assertThat(EndpointClass.of(HttpMethod.GET, "/countries/refresh/1234")).isEqualTo(EndpointClass.READS);
+        assertThat(EndpointClass.of(HttpMethod.GET, "/countries/image")).isEqualTo(EndpointClass.IMAGE);
+        assertThat(EndpointClass.of(HttpMethod.GET, "/actuator/health")).isNull();
+    }
+}
\ No newline at end of file
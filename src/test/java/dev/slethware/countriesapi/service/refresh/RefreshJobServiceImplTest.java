@@ -0,0 +1,114 @@
+package dev.slethware.countriesapi.service.refresh;
+
+import dev.slethware.countriesapi.models.response.RefreshJobResponse;
+import dev.slethware.countriesapi.service.country.CountryService;
+import dev.slethware.countriesapi.service.country.RefreshPhase;
+import dev.slethware.countriesapi.service.country.RefreshProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshJobServiceImplTest {
+
+    private final CountryService countryService = mock(CountryService.class);
+    private final RefreshJobServiceImpl refreshJobService = new RefreshJobServiceImpl(countryService);
+
+    @AfterEach
+    void tearDown() {
+        refreshJobService.shutdown();
+    }
+
+    @Test
+    void coalescesTriggersAndRunsRatesAfterTheFullRefresh() throws Exception {
+        CountDownLatch reported = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<RefreshType> runs = new CopyOnWriteArrayList<>();
+
+        when(countryService.refreshCountries(any())).thenAnswer(invocation -> {
+            RefreshProgress progress = invocation.getArgument(0);
+            runs.add(RefreshType.FULL);
+            progress.phase(RefreshPhase.FETCHING_COUNTRIES);
+            progress.countryProcessed();
+            progress.countryProcessed();
+            progress.countryFailed();
+            reported.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            progress.rowsWritten(1, 2, 3);
+            return "full done";
+        });
+        when(countryService.refreshExchangeRates(any())).thenAnswer(invocation -> {
+            runs.add(RefreshType.RATES);
+            return "rates done";
+        });
+
+        RefreshJobResponse full = refreshJobService.submit(RefreshType.FULL);
+        assertThat(reported.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // A second full trigger joins the running job; a rates trigger queues behind it on the same worker
+        assertThat(refreshJobService.submit(RefreshType.FULL).id()).isEqualTo(full.id());
+        RefreshJobResponse rates = refreshJobService.submit(RefreshType.RATES);
+        assertThat(rates.id()).isNotEqualTo(full.id());
+        assertThat(rates.phase()).isEqualTo(RefreshPhase.QUEUED);
+
+        assertThat(refreshJobService.findJob(full.id())).hasValueSatisfying(job -> {
+            assertThat(job.phase()).isEqualTo(RefreshPhase.FETCHING_COUNTRIES);
+            assertThat(job.countriesProcessed()).isEqualTo(2);
+            assertThat(job.countriesFailed()).isEqualTo(1);
+        });
+
+        release.countDown();
+        RefreshJobResponse finishedRates = awaitFinished(rates.id());
+        assertThat(finishedRates.phase()).isEqualTo(RefreshPhase.COMPLETED);
+        assertThat(finishedRates.message()).isEqualTo("rates done");
+        assertThat(runs).containsExactly(RefreshType.FULL, RefreshType.RATES);
+
+        RefreshJobResponse finishedFull = awaitFinished(full.id());
+        assertThat(finishedFull.phase()).isEqualTo(RefreshPhase.COMPLETED);
+        assertThat(finishedFull.message()).isEqualTo("full done");
+        assertThat(finishedFull.inserted()).isEqualTo(1);
+        assertThat(finishedFull.updated()).isEqualTo(2);
+        assertThat(finishedFull.unchanged()).isEqualTo(3);
+
+        // Once finished, a new trigger starts a new job
+        assertThat(refreshJobService.submit(RefreshType.FULL).id()).isNotEqualTo(full.id());
+    }
+
+    @Test
+    void reportsFailuresAndKeepsOnlyTheLastTwentyJobs() throws Exception {
+        when(countryService.refreshExchangeRates(any())).thenThrow(new IllegalStateException("upstream down"));
+
+        RefreshJobResponse first = refreshJobService.submit(RefreshType.RATES);
+        assertThat(awaitFinished(first.id()))
+                .extracting(RefreshJobResponse::phase, RefreshJobResponse::error)
+                .containsExactly(RefreshPhase.FAILED, "upstream down");
+
+        String last = null;
+        for (int i = 0; i < 20; i++) {
+            last = refreshJobService.submit(RefreshType.RATES).id();
+            awaitFinished(last);
+        }
+        assertThat(refreshJobService.findJob(first.id())).isEmpty();
+        assertThat(refreshJobService.findJob(last)).isPresent();
+    }
+
+    private RefreshJobResponse awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            RefreshJobResponse job = refreshJobService.findJob(id).orElseThrow();
+            if (job.phase().isTerminal()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Refresh job " + id + " did not finish");
+    }
+}
\ No newline at end of file